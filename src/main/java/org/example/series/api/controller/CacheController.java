@@ -0,0 +1,51 @@
+package org.example.series.api.controller;
+
+import org.example.series.core.service.CacheInvalidationBus;
+import org.example.series.core.service.ReadThroughCache;
+import org.example.series.core.service.SeriesCache;
+import org.example.series.core.service.StudioCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller exposing the application-wide cache statistics.
+ */
+@RestController
+@RequestMapping("/api/v1/_cache")
+public class CacheController {
+
+    private final StudioCache studioCache;
+    private final SeriesCache seriesCache;
+    private final ReadThroughCache readCache;
+    private final CacheInvalidationBus invalidation;
+
+    public CacheController(StudioCache studioCache,
+                           SeriesCache seriesCache,
+                           ReadThroughCache readCache,
+                           CacheInvalidationBus invalidation) {
+        this.studioCache = studioCache;
+        this.seriesCache = seriesCache;
+        this.readCache = readCache;
+        this.invalidation = invalidation;
+    }
+
+    /**
+     * Returns hit / miss counters per cache region, and the state of the cross-node invalidation.
+     *
+     * @return list of regions: name, size, hits, misses, hitRatio and invalidations or evictions;
+     *         last entry {@code invalidation}: connected, published / received events
+     */
+    @GetMapping("/stats")
+    public List<Map<String, Object>> stats() {
+        List<Map<String, Object>> regions = new ArrayList<>(studioCache.stats());
+        regions.addAll(seriesCache.stats());
+        regions.add(readCache.stats());
+        regions.add(invalidation.stats());
+        return regions;
+    }
+}
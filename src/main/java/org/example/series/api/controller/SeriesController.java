@@ -1,14 +1,24 @@
 package org.example.series.api.controller;
 
 import jakarta.validation.Valid;
+import org.example.series.api.dto.SeriesBulkRequest;
 import org.example.series.api.dto.SeriesListRequest;
+import org.example.series.api.dto.SeriesMgetRequest;
+import org.example.series.api.dto.SeriesPatchRequest;
 import org.example.series.api.dto.SeriesRequest;
 import org.example.series.api.dto.SeriesResponse;
+import org.example.series.api.importer.ImportFormat;
+import org.example.series.api.service.ImportJobService;
 import org.example.series.api.service.SeriesApiService;
+import org.example.series.api.service.SeriesBulkService;
+import org.example.series.api.service.SeriesImportService;
+import org.example.series.core.model.ImportJob;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,9 +35,18 @@ import java.util.Map;
 public class SeriesController {
 
     private final SeriesApiService service;
+    private final SeriesImportService importService;
+    private final ImportJobService importJobService;
+    private final SeriesBulkService bulkService;
 
-    public SeriesController(SeriesApiService service) {
+    public SeriesController(SeriesApiService service,
+                            SeriesImportService importService,
+                            ImportJobService importJobService,
+                            SeriesBulkService bulkService) {
         this.service = service;
+        this.importService = importService;
+        this.importJobService = importJobService;
+        this.bulkService = bulkService;
     }
 
     /**
@@ -41,13 +60,13 @@ public class SeriesController {
     }
 
     /**
-     * Returns a single series by id.
+     * Returns a single series by id, with its version as ETag (304 for a matching If-None-Match).
      *
      * @param id series id
      * @return series DTO
      */
     @GetMapping("/{id}")
-    public SeriesResponse getById(@PathVariable Long id) {
+    public ResponseEntity<SeriesResponse> getById(@PathVariable Long id) {
         return service.getById(id);
     }
 
@@ -92,27 +111,66 @@ public class SeriesController {
     }
 
     /**
-     * Updates an existing series.
+     * Updates an existing series; with If-Match only if the series still has that ETag (412 otherwise).
      *
      * @param id series id
+     * @param ifMatch expected ETag(s), optional
      * @param request update request
-     * @return updated series DTO
+     * @return updated series DTO with its new ETag
      */
     @PutMapping("/{id}")
-    public SeriesResponse update(@PathVariable Long id,
-                                 @Valid @RequestBody SeriesRequest request) {
-        return service.update(id, request);
+    public ResponseEntity<SeriesResponse> update(@PathVariable Long id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @Valid @RequestBody SeriesRequest request) {
+        return service.update(id, request, ifMatch);
     }
 
     /**
-     * Deletes a series by id.
+     * Changes only the fields present in the request, with one UPDATE statement.
      *
      * @param id series id
+     * @param request fields to change
+     */
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void patch(@PathVariable Long id,
+                      @Valid @RequestBody SeriesPatchRequest request) {
+        service.patch(id, request);
+    }
+
+    /**
+     * Deletes a series by id; with If-Match only if the series still has that ETag (412 otherwise).
+     *
+     * @param id series id
+     * @param ifMatch expected ETag(s), optional
      */
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id) {
-        service.delete(id);
+    public void delete(@PathVariable Long id,
+                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.delete(id, ifMatch);
+    }
+
+    /**
+     * Creates, updates and deletes series in one transaction (all or nothing).
+     *
+     * @param request operations, executed in order
+     * @return per-operation results; 200 if committed, otherwise the status of the first failed operation
+     */
+    @PostMapping("/_bulk")
+    public ResponseEntity<Map<String, Object>> bulk(@RequestBody SeriesBulkRequest request) {
+        return bulkService.bulk(request);
+    }
+
+    /**
+     * Returns several series by id in one request.
+     *
+     * @param request ids to fetch
+     * @return map containing keys: 'series' (in request order) and 'missing' (unknown ids)
+     */
+    @PostMapping("/_mget")
+    public Map<String, Object> mget(@RequestBody SeriesMgetRequest request) {
+        return bulkService.mget(request);
     }
 
     /**
@@ -126,7 +184,7 @@ public class SeriesController {
     public Map<String, Object> list(@Valid @RequestBody SeriesListRequest request) {
 
         Sort sort = Sort.by(
-                Sort.Direction.fromString(request.getDirection()),
+                SeriesApiService.sortDirection(request.getDirection()),
                 request.getSortBy()
         );
 
@@ -154,36 +212,149 @@ public class SeriesController {
     }
 
     /**
-     * Generates a report for the requested filters.
-     * Supports sync and async modes depending on request flags.
+     * Generates a report for the requested filters and streams the file into the response.
+     * Requests with {@code "async": true} are queued instead, as with {@code POST /_report/jobs}.
      *
      * @param request report request (same as list filters)
-     * @return response entity containing file bytes or async job info
+     * @return report file, or 202 with job id, status URL and download URL for async requests
      */
     @PostMapping("/_report")
     public ResponseEntity<?> report(@Valid @RequestBody SeriesListRequest request) {
+        if (Boolean.TRUE.equals(request.getAsync())) {
+            return service.submitReport(request);
+        }
         return service.generateReport(request);
     }
 
     /**
-     * Imports series from a JSON file (multipart/form-data).
+     * Queues an asynchronous report for the requested filters, same as {@code POST /_report} with {@code "async": true}.
+     * Poll the returned status URL, then download the file from the download URL.
      *
-     * @param file JSON file to import
+     * @param request report request (same as list filters)
+     * @return 202 with job id, status URL and download URL
+     */
+    @PostMapping("/_report/jobs")
+    public ResponseEntity<Map<String, Object>> submitReport(@Valid @RequestBody SeriesListRequest request) {
+        return service.submitReport(request);
+    }
+
+    /**
+     * Imports series from a JSON, CSV or XLSX file (multipart/form-data).
+     * CSV and XLSX use the columns of the CSV / XLSX report, so a report can be imported again.
+     *
+     * Mode {@code batch} (default) parses, validates and inserts in a pipeline (parallel validation,
+     * batched JPA inserts); it answers 429 when the configured number of imports is already running;
+     * mode {@code upsert} runs the same pipeline but overwrites series with the same title, year and studio
+     * ({@code INSERT ... ON CONFLICT}), so re-uploading a file creates no duplicates;
+     * mode {@code copy} uses the Postgres COPY bulk loader and updates series that already exist.
+     *
+     * @param file   file to import
+     * @param mode   batch | upsert | copy
+     * @param format json | csv | xlsx (optional, detected from the file extension, JSON by default)
      * @return import summary: success/failed/errors
      */
     @PostMapping(value = "/upload", consumes = "multipart/form-data")
-    public Map<String, Object> upload(@RequestParam("file") MultipartFile file) {
-        return service.upload(file);
+    public Map<String, Object> upload(@RequestParam("file") MultipartFile file,
+                                      @RequestParam(defaultValue = "batch") String mode,
+                                      @RequestParam(required = false) String format) {
+        ImportFormat importFormat = ImportFormat.of(format, file.getOriginalFilename());
+        return switch (mode.toLowerCase()) {
+            case "batch" -> importService.upload(file, ImportJob.Mode.INSERT, importFormat);
+            case "upsert" -> importService.upload(file, ImportJob.Mode.UPSERT, importFormat);
+            case "copy" -> importService.uploadCopy(file, importFormat);
+            default -> throw new IllegalArgumentException("Unsupported mode: " + mode + " (expected batch, upsert or copy)");
+        };
+    }
+
+    /**
+     * Bulk-loads the JSON, CSV and XLSX files of the configured catalog directory with the COPY loader.
+     *
+     * @return import summary: success/failed/inserted/updated/errors
+     */
+    @PostMapping("/_import/catalog")
+    public Map<String, Object> importCatalog() {
+        return importService.importCatalog();
+    }
+
+    /**
+     * Queues an asynchronous import of a JSON, CSV or XLSX file (multipart/form-data), for files too large
+     * to import within one request. Poll the returned status URL for progress.
+     *
+     * @param file   file to import
+     * @param mode   batch | upsert (see upload)
+     * @param format json | csv | xlsx (see upload)
+     * @return 202 with job status
+     */
+    @PostMapping(value = "/_import/jobs", consumes = "multipart/form-data")
+    public ResponseEntity<Map<String, Object>> submitImport(@RequestParam("file") MultipartFile file,
+                                                            @RequestParam(defaultValue = "batch") String mode,
+                                                            @RequestParam(required = false) String format) {
+        ImportJob.Mode importMode = switch (mode.toLowerCase()) {
+            case "batch" -> ImportJob.Mode.INSERT;
+            case "upsert" -> ImportJob.Mode.UPSERT;
+            default -> throw new IllegalArgumentException("Unsupported mode: " + mode + " (expected batch or upsert)");
+        };
+        ImportFormat importFormat = ImportFormat.of(format, file.getOriginalFilename());
+        return ResponseEntity.accepted().body(importJobService.submit(file, importMode, importFormat));
+    }
+
+    /**
+     * Returns the progress of an asynchronous import: items processed, succeeded, failed and rate.
+     *
+     * @param jobId job identifier returned by the import submission
+     * @return job status
+     */
+    @GetMapping("/_import/jobs/{jobId}")
+    public Map<String, Object> importStatus(@PathVariable String jobId) {
+        return importJobService.status(jobId);
+    }
+
+    /**
+     * Streams all errors of an asynchronous import logged so far (NDJSON, in file order).
+     *
+     * @param jobId job identifier returned by the import submission
+     * @return error log
+     */
+    @GetMapping(value = "/_import/jobs/{jobId}/errors", produces = "application/x-ndjson")
+    public Resource importErrors(@PathVariable String jobId) {
+        return importJobService.errorLog(jobId);
     }
 
     /**
      * Downloads a previously generated asynchronous report.
      *
-     * @param jobId job identifier returned by async report generation
-     * @return file bytes as response entity
+     * Supports Range requests (resumable downloads), If-None-Match and gzip content encoding.
+     *
+     * @param jobId          job identifier returned by async report generation
+     * @param acceptEncoding Accept-Encoding header
+     * @return report file as response entity
      */
     @GetMapping("/_report/{jobId}")
-    public ResponseEntity<byte[]> downloadReport(@PathVariable String jobId) {
-        return service.downloadReport(jobId);
+    public ResponseEntity<Resource> downloadReport(@PathVariable String jobId,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                                   String acceptEncoding) {
+        return service.downloadReport(jobId, acceptEncoding);
+    }
+
+    /**
+     * Returns the state of an asynchronous report job.
+     *
+     * @param jobId job identifier returned by async report generation
+     * @return map containing keys: 'jobId', 'status', 'rowsWritten' and, when available, 'error' / 'downloadUrl'
+     */
+    @GetMapping("/_report/{jobId}/status")
+    public Map<String, Object> reportStatus(@PathVariable String jobId) {
+        return service.reportStatus(jobId);
+    }
+
+    /**
+     * Cancels a queued or running asynchronous report job.
+     *
+     * @param jobId job identifier returned by async report generation
+     * @return job state after cancellation
+     */
+    @DeleteMapping("/_report/{jobId}")
+    public Map<String, Object> cancelReport(@PathVariable String jobId) {
+        return service.cancelReport(jobId);
     }
 }
@@ -1,7 +1,6 @@
 package org.example.series.api.controller;
 
 import org.example.series.core.service.SeriesService;
-import org.example.series.core.service.StatisticsService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -20,16 +19,13 @@ public class StatisticsController {
     }
 
     /**
-     * Returns statistics grouped by the given attribute.
+     * Returns statistics grouped by the given attribute (cached until the next write to the data set).
      *
      * @param attribute attribute name supported by the service (e.g., genre, studio)
      * @return map: group key -> count
      */
     @GetMapping("/{attribute}")
     public Map<String, Long> statistics(@PathVariable String attribute) {
-        return StatisticsService.countByAttribute(
-                seriesService.findAll(),
-                attribute
-        );
+        return seriesService.statistics(attribute);
     }
 }
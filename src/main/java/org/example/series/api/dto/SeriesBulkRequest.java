@@ -0,0 +1,37 @@
+package org.example.series.api.dto;
+
+import java.util.List;
+
+/**
+ * Body of a bulk write: create, update and delete operations executed in order, in one transaction.
+ * Example:
+ * {
+ *   "operations": [
+ *     { "op": "create", "data": { "title": "...", ..., "studioId": 1 } },
+ *     { "op": "update", "id": 5, "data": { ... } },
+ *     { "op": "delete", "id": 7 }
+ *   ]
+ * }
+ */
+public class SeriesBulkRequest {
+
+    private List<Operation> operations;
+
+    public List<Operation> getOperations() { return operations; }
+    public void setOperations(List<Operation> operations) { this.operations = operations; }
+
+    public static class Operation {
+        private String op; // create | update | delete
+        private Long id;
+        private SeriesRequest data;
+
+        public String getOp() { return op; }
+        public void setOp(String op) { this.op = op; }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public SeriesRequest getData() { return data; }
+        public void setData(SeriesRequest data) { this.data = data; }
+    }
+}
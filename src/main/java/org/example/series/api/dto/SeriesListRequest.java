@@ -2,6 +2,8 @@ package org.example.series.api.dto;
 
 import jakarta.validation.constraints.Min;
 
+import java.util.List;
+
 /**
  * SeriesListRequest component.
  */
@@ -26,9 +28,13 @@ public class SeriesListRequest {
 
     private String direction = "ASC";
 
-    private String format; // csv | xlsx | json
+    private String format; // csv | xlsx | json | ndjson | parquet
+
+    private List<String> formats; // several formats from one scan, packaged as ZIP
+
+    private String partitionBy; // studio | year: one file per partition, packaged as ZIP
 
-    private Boolean async;
+    private Boolean async; // POST /_report only: true queues the report like POST /_report/jobs
 
     public Long getStudioId() { return studioId; }
     public void setStudioId(Long studioId) { this.studioId = studioId; }
@@ -57,6 +63,12 @@ public class SeriesListRequest {
     public String getFormat() { return format; }
     public void setFormat(String format) { this.format = format; }
 
+    public List<String> getFormats() { return formats; }
+    public void setFormats(List<String> formats) { this.formats = formats; }
+
+    public String getPartitionBy() { return partitionBy; }
+    public void setPartitionBy(String partitionBy) { this.partitionBy = partitionBy; }
+
     public Boolean getAsync() { return async; }
     public void setAsync(Boolean async) { this.async = async; }
 }
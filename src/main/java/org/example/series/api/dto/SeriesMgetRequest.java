@@ -0,0 +1,14 @@
+package org.example.series.api.dto;
+
+import java.util.List;
+
+/**
+ * Body of a multi-get: series ids to fetch in one request.
+ */
+public class SeriesMgetRequest {
+
+    private List<Long> ids;
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+}
@@ -0,0 +1,58 @@
+package org.example.series.api.dto;
+
+import jakarta.validation.constraints.*;
+
+/**
+ * Partial update of a series: only the fields present in the request are changed.
+ * Same constraints as SeriesRequest for the fields that are set; the studio and
+ * the state rules are checked by the database write.
+ */
+public class SeriesPatchRequest {
+
+    @Size(min = 2, max = 255, message = "Title must be between 2 and 255 characters")
+    @Pattern(regexp = "^[\\p{L}0-9 .:'-]+$", message = "Title contains invalid characters")
+    private String title;
+
+    @Min(value = 1, message = "Seasons must be at least 1")
+    @Max(value = 100, message = "Seasons cannot exceed 100")
+    private Integer seasons;
+
+    @DecimalMin(value = "0.0", inclusive = true, message = "Rating must be >= 0")
+    @DecimalMax(value = "10.0", inclusive = true, message = "Rating must be <= 10")
+    @Digits(integer = 2, fraction = 1, message = "Rating must have max 1 decimal place")
+    private Double rating;
+
+    @Min(value = 1900, message = "Year must not be before 1900")
+    @Max(value = 2100, message = "Year is too far in future")
+    private Integer year;
+
+    private Boolean finished;
+
+    @Positive(message = "Studio ID must be positive")
+    private Long studioId;
+
+    @Size(min = 2, max = 255, message = "Genre must be between 2 and 255 characters")
+    @Pattern(regexp = "^[\\p{L}0-9 .:'-]+$", message = "Genre contains invalid characters")
+    private String genre;
+
+    public String getGenre() { return genre; }
+    public void setGenre(String genre) { this.genre = genre; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public Integer getSeasons() { return seasons; }
+    public void setSeasons(Integer seasons) { this.seasons = seasons; }
+
+    public Double getRating() { return rating; }
+    public void setRating(Double rating) { this.rating = rating; }
+
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+
+    public Boolean getFinished() { return finished; }
+    public void setFinished(Boolean finished) { this.finished = finished; }
+
+    public Long getStudioId() { return studioId; }
+    public void setStudioId(Long studioId) { this.studioId = studioId; }
+}
@@ -0,0 +1,20 @@
+package org.example.series.api.exception;
+
+/**
+ * Exception thrown when one operation of a bulk request fails; the whole bulk is rolled back.
+ * The cause is the failure of that operation (e.g. NotFoundException, ConflictException).
+ */
+public class BulkOperationException extends RuntimeException {
+
+    private final int index;
+
+    public BulkOperationException(int index, RuntimeException cause) {
+        super(cause.getMessage(), cause);
+        this.index = index;
+    }
+
+    /** @return 0-based position of the failed operation in the request */
+    public int getIndex() {
+        return index;
+    }
+}
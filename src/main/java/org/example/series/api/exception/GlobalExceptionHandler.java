@@ -1,5 +1,7 @@
 package org.example.series.api.exception;
 
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -67,6 +69,48 @@ public class GlobalExceptionHandler {
         ));
     }
 
+    /**
+     * Another request changed the entity between read and write (version check on flush).
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "status", 409,
+                "error", "Conflict",
+                "message", "Modified concurrently, retry the request"
+        ));
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailed(PreconditionFailedException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(Map.of(
+                "status", 412,
+                "error", "Precondition failed",
+                "message", ex.getMessage()
+        ));
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, Object>> handleTooManyRequests(TooManyRequestsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of(
+                "status", 429,
+                "error", "Too many requests",
+                "message", ex.getMessage()
+        ));
+    }
+
+    /**
+     * The async request executor is saturated (streamed responses such as sync reports).
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleTaskRejected(TaskRejectedException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of(
+                "status", 429,
+                "error", "Too many requests",
+                "message", "Server is busy, retry later"
+        ));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleBadRequest(IllegalArgumentException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
@@ -0,0 +1,10 @@
+package org.example.series.api.exception;
+
+/**
+ * Exception thrown when a conditional request (If-Match) does not match the current version.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.series.api.exception;
+
+/**
+ * Exception thrown when the server cannot accept more work right now (e.g. report queue is full).
+ */
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
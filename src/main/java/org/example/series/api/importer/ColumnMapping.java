@@ -0,0 +1,129 @@
+package org.example.series.api.importer;
+
+import org.example.series.api.dto.SeriesImportItem;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Maps rows of a tabular file (CSV, XLSX) to import items, by the column names of the header row.
+ *
+ * Header names are case-insensitive; Title and Studio are required, the other columns
+ * (Genre, Seasons, Rating, Year, Finished) may be missing. Unknown columns are ignored,
+ * an empty cell is a missing value.
+ */
+final class ColumnMapping {
+
+    private final int title;
+    private final int genre;
+    private final int seasons;
+    private final int rating;
+    private final int year;
+    private final int finished;
+    private final int studio;
+
+    private ColumnMapping(List<String> header) throws IOException {
+        this.title = required(header, "title");
+        this.genre = indexOf(header, "genre");
+        this.seasons = indexOf(header, "seasons");
+        this.rating = indexOf(header, "rating");
+        this.year = indexOf(header, "year");
+        this.finished = indexOf(header, "finished");
+        this.studio = required(header, "studio");
+    }
+
+    /**
+     * @param header cells of the header row
+     * @throws IOException if a required column is missing
+     */
+    static ColumnMapping of(List<String> header) throws IOException {
+        return new ColumnMapping(header);
+    }
+
+    /**
+     * @param cells cell values of one row, by column; may be shorter than the header
+     * @throws ImportReader.InvalidItemException if a value does not fit its column
+     */
+    SeriesImportItem map(List<String> cells) {
+        SeriesImportItem item = new SeriesImportItem();
+        item.setTitle(text(cells, title));
+        item.setGenre(text(cells, genre));
+        item.setSeasons(toInteger("seasons", text(cells, seasons)));
+        item.setRating(toDouble("rating", text(cells, rating)));
+        item.setYear(toInteger("year", text(cells, year)));
+        item.setFinished(toBoolean(text(cells, finished)));
+
+        String studioName = text(cells, studio);
+        if (studioName != null) {
+            SeriesImportItem.StudioImport studioImport = new SeriesImportItem.StudioImport();
+            studioImport.setName(studioName);
+            item.setStudio(studioImport);
+        }
+        return item;
+    }
+
+    private static int required(List<String> header, String name) throws IOException {
+        int index = indexOf(header, name);
+        if (index < 0) {
+            throw new IOException("Missing column: " + name);
+        }
+        return index;
+    }
+
+    private static int indexOf(List<String> header, String name) {
+        for (int i = 0; i < header.size(); i++) {
+            String cell = header.get(i);
+            if (cell != null && cell.trim().toLowerCase(Locale.ROOT).equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String text(List<String> cells, int column) {
+        if (column < 0 || column >= cells.size()) {
+            return null;
+        }
+        String value = cells.get(column);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static Integer toInteger(String column, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            // spreadsheets store whole numbers as e.g. "4.0"
+            double number = Double.parseDouble(value);
+            if (number != Math.rint(number) || Math.abs(number) > Integer.MAX_VALUE) {
+                throw new NumberFormatException();
+            }
+            return (int) number;
+        } catch (NumberFormatException e) {
+            throw new ImportReader.InvalidItemException(column + ": not an integer: " + value);
+        }
+    }
+
+    private static Double toDouble(String column, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new ImportReader.InvalidItemException(column + ": not a number: " + value);
+        }
+    }
+
+    private static Boolean toBoolean(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "1" -> true;
+            case "false", "no", "0" -> false;
+            default -> throw new ImportReader.InvalidItemException("finished: not a boolean: " + value);
+        };
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.series.api.importer;
+
+import org.example.series.api.dto.SeriesImportItem;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader of a CSV file (RFC 4180, as written by the CSV report):
+ * comma-separated, fields optionally quoted, {@code ""} inside quotes is a quote,
+ * quoted fields may span lines. The first record is the header, see {@link ColumnMapping}.
+ * Blank lines are skipped; a UTF-8 byte order mark is ignored.
+ */
+public class CsvImportReader implements ImportReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private ColumnMapping columns;
+    private int pushedBack = -2;
+    private boolean started;
+
+    public CsvImportReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    public SeriesImportItem next() throws IOException {
+        List<String> record = nextRecord();
+        return record == null ? null : columns.map(record);
+    }
+
+    @Override
+    public boolean skip() throws IOException {
+        return nextRecord() != null;
+    }
+
+    /** @return cells of the next data record, null at the end of the file */
+    private List<String> nextRecord() throws IOException {
+        if (columns == null) {
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new IOException("Missing header");
+            }
+            columns = ColumnMapping.of(header);
+        }
+        return readRecord();
+    }
+
+    /** Tokenizer: reads one non-blank record, or null at the end of the input. */
+    private List<String> readRecord() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            if (c == '\r' || c == '\n') {
+                continue; // blank line
+            }
+            unread(c);
+
+            List<String> record = new ArrayList<>();
+            while (true) {
+                int end = readField();
+                record.add(field.toString());
+                if (end != ',') {
+                    return record;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads one field into {@link #field}.
+     *
+     * @return character that ended it: ',' or -1 for the end of the record
+     */
+    private int readField() throws IOException {
+        field.setLength(0);
+
+        int c = read();
+        if (c == '"') {
+            while (true) {
+                c = read();
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        break; // closing quote
+                    }
+                }
+                field.append((char) c);
+            }
+            if (c != ',' && c != '\r' && c != '\n' && c != -1) {
+                throw new IOException("Unexpected character after quoted field: " + (char) c);
+            }
+        } else {
+            while (c != ',' && c != '\r' && c != '\n' && c != -1) {
+                field.append((char) c);
+                c = read();
+            }
+        }
+
+        if (c == ',') {
+            return ',';
+        }
+        if (c == '\r') {
+            int lf = read();
+            if (lf != '\n') {
+                unread(lf);
+            }
+        }
+        return -1;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        int c = reader.read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                return reader.read();
+            }
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.series.api.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Supported import file formats.
+ *
+ * CSV and XLSX use the column layout of the CSV / XLSX reports (header row with
+ * Title, Seasons, Rating, Year, Finished, Studio, Genre in any order), so a report can be imported again.
+ */
+public enum ImportFormat {
+
+    JSON("json", "JSON"),
+    CSV("csv", "CSV"),
+    XLSX("xlsx", "XLSX");
+
+    private final String extension;
+    private final String label;
+
+    ImportFormat(String extension, String label) {
+        this.extension = extension;
+        this.label = label;
+    }
+
+    public String extension() { return extension; }
+
+    /** @return name used in messages, e.g. "Invalid CSV file" */
+    public String label() { return label; }
+
+    /** @return true if the reader needs random access to a file (XLSX is a ZIP package) */
+    public boolean needsFile() {
+        return this == XLSX;
+    }
+
+    /**
+     * @param format   explicit format (json, csv, xlsx), may be null or blank
+     * @param filename uploaded file name, used when no format is given
+     * @return requested format, the one matching the file extension, or JSON
+     */
+    public static ImportFormat of(String format, String filename) {
+        String name = format != null && !format.isBlank()
+                ? format.trim()
+                : extensionOf(filename);
+
+        for (ImportFormat f : values()) {
+            if (f.extension.equalsIgnoreCase(name)) {
+                return f;
+            }
+        }
+        if (format != null && !format.isBlank()) {
+            throw new IllegalArgumentException("Unsupported format: " + format + " (expected json, csv or xlsx)");
+        }
+        return JSON;
+    }
+
+    /**
+     * @param filename file name, e.g. from a catalog directory
+     * @return true if the extension is one of the supported formats
+     */
+    public static boolean isSupported(String filename) {
+        String extension = extensionOf(filename);
+        for (ImportFormat f : values()) {
+            if (f.extension.equals(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Opens a reader over a stream.
+     *
+     * @throws UnsupportedOperationException for formats that {@link #needsFile() need a file}
+     */
+    public ImportReader open(InputStream in) throws IOException {
+        return switch (this) {
+            case JSON -> new JsonImportReader(in);
+            case CSV -> new CsvImportReader(in);
+            case XLSX -> throw new UnsupportedOperationException("XLSX is read from a file");
+        };
+    }
+
+    public ImportReader open(Path file) throws IOException {
+        if (this == XLSX) {
+            return new XlsxImportReader(file);
+        }
+
+        InputStream in = Files.newInputStream(file);
+        try {
+            return open(in);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private static String extensionOf(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        int dot = filename.lastIndexOf('.');
+        return dot < 0 ? "" : filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
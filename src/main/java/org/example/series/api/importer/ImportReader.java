@@ -0,0 +1,40 @@
+package org.example.series.api.importer;
+
+import org.example.series.api.dto.SeriesImportItem;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-style reader of import items, one at a time, so files of any size are imported
+ * with constant memory. Implementations exist per {@link ImportFormat}.
+ *
+ * Usage: call {@code next} until it returns null, then {@code close}.
+ */
+public interface ImportReader extends Closeable {
+
+    /**
+     * Item that was read but cannot be mapped (e.g. text in a number column).
+     * The reader has consumed it and can continue with the next one.
+     */
+    class InvalidItemException extends RuntimeException {
+        public InvalidItemException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * @return next item, or null after the last one
+     * @throws InvalidItemException if this item cannot be mapped
+     * @throws IOException          if the file is broken or cannot be read (reading cannot continue)
+     */
+    SeriesImportItem next() throws IOException;
+
+    /**
+     * Skips the next item without mapping it.
+     *
+     * @return false if there was no item left
+     * @throws IOException if the file is broken or cannot be read
+     */
+    boolean skip() throws IOException;
+}
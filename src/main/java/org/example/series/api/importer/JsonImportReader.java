@@ -0,0 +1,88 @@
+package org.example.series.api.importer;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.example.series.api.dto.SeriesImportItem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streaming reader of a JSON document holding one import item or an array of them.
+ */
+public class JsonImportReader implements ImportReader {
+
+    private static final Gson GSON = new Gson();
+
+    private final JsonReader reader;
+    private Boolean array;
+    private boolean done;
+
+    public JsonImportReader(InputStream in) {
+        this.reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public SeriesImportItem next() throws IOException {
+        if (!hasNext()) {
+            return null;
+        }
+        try {
+            return GSON.fromJson(reader, SeriesImportItem.class);
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean skip() throws IOException {
+        if (!hasNext()) {
+            return false;
+        }
+        try {
+            reader.skipValue();
+            return true;
+        } catch (IllegalStateException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private boolean hasNext() throws IOException {
+        if (done) {
+            return false;
+        }
+        try {
+            if (array == null) {
+                array = reader.peek() == JsonToken.BEGIN_ARRAY;
+                if (array) {
+                    reader.beginArray();
+                }
+            }
+
+            if (!array) {
+                // a single object: one item, then the document ends
+                done = true;
+                return true;
+            }
+
+            if (reader.hasNext()) {
+                return true;
+            }
+            reader.endArray();
+            done = true;
+            return false;
+
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,188 @@
+package org.example.series.api.importer;
+
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.example.series.api.dto.SeriesImportItem;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Streaming reader of the first sheet of an XLSX workbook (e.g. the XLSX report).
+ *
+ * The workbook is not loaded as XSSFWorkbook: {@link XSSFReader} gives access to the raw sheet XML,
+ * which is pulled one row at a time with a StAX parser, and shared strings are read with
+ * {@link ReadOnlySharedStringsTable}. Memory stays flat apart from the shared strings table.
+ *
+ * The first non-empty row is the header, see {@link ColumnMapping}; empty rows are skipped.
+ * XLSX is a ZIP package and needs random access, so the reader works on a file.
+ */
+public class XlsxImportReader implements ImportReader {
+
+    private final OPCPackage pkg;
+    private final ReadOnlySharedStringsTable strings;
+    private final InputStream sheet;
+    private final XMLStreamReader xml;
+    private ColumnMapping columns;
+
+    public XlsxImportReader(Path file) throws IOException {
+        try {
+            this.pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (OpenXML4JException | POIXMLException | IllegalArgumentException e) {
+            throw new IOException("Not an XLSX file", e);
+        }
+
+        InputStream sheetData = null;
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            this.strings = new ReadOnlySharedStringsTable(pkg);
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IOException("Workbook has no sheets");
+            }
+            sheetData = sheets.next();
+            this.sheet = sheetData;
+            this.xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheetData);
+
+        } catch (IOException | OpenXML4JException | SAXException | XMLStreamException | POIXMLException e) {
+            if (sheetData != null) {
+                sheetData.close();
+            }
+            pkg.revert();
+            throw e instanceof IOException io ? io : new IOException("Invalid XLSX file", e);
+        }
+    }
+
+    @Override
+    public SeriesImportItem next() throws IOException {
+        List<String> row = nextRecord();
+        return row == null ? null : columns.map(row);
+    }
+
+    @Override
+    public boolean skip() throws IOException {
+        return nextRecord() != null;
+    }
+
+    private List<String> nextRecord() throws IOException {
+        try {
+            if (columns == null) {
+                List<String> header = readRow();
+                if (header == null) {
+                    throw new IOException("Missing header");
+                }
+                columns = ColumnMapping.of(header);
+            }
+            return readRow();
+
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid XLSX sheet", e);
+        }
+    }
+
+    /** @return cells of the next non-empty row, by column; null after the last row */
+    private List<String> readRow() throws XMLStreamException {
+        List<String> cells = null;
+        int column = -1;
+        String type = null;
+        StringBuilder value = new StringBuilder();
+        boolean inValue = false;
+
+        while (xml.hasNext()) {
+            int event = xml.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (xml.getLocalName()) {
+                    case "row" -> {
+                        cells = new ArrayList<>();
+                        column = -1;
+                    }
+                    case "c" -> {
+                        String ref = xml.getAttributeValue(null, "r");
+                        column = ref == null ? column + 1 : columnIndex(ref);
+                        type = xml.getAttributeValue(null, "t");
+                        value.setLength(0);
+                    }
+                    // <v> holds the value, <t> the text of an inline string (possibly in several runs)
+                    case "v", "t" -> inValue = true;
+                    default -> { }
+                }
+
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                if (inValue) {
+                    value.append(xml.getText());
+                }
+
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                switch (xml.getLocalName()) {
+                    case "v", "t" -> inValue = false;
+                    case "c" -> {
+                        if (cells != null && !value.isEmpty()) {
+                            while (cells.size() <= column) {
+                                cells.add(null);
+                            }
+                            cells.set(column, cellValue(type, value.toString()));
+                        }
+                    }
+                    case "row" -> {
+                        if (cells != null && !cells.isEmpty()) {
+                            return cells;
+                        }
+                    }
+                    case "sheetData" -> {
+                        return null;
+                    }
+                    default -> { }
+                }
+            }
+        }
+        return null;
+    }
+
+    private String cellValue(String type, String raw) {
+        if (type == null) {
+            return raw; // number
+        }
+        return switch (type) {
+            case "s" -> strings.getItemAt(Integer.parseInt(raw.trim())).getString();
+            case "b" -> "1".equals(raw.trim()) ? "true" : "false";
+            default -> raw; // inlineStr, str (formula result), e (error text), n
+        };
+    }
+
+    /** @return 0-based column of a cell reference such as "AB12" */
+    private static int columnIndex(String ref) {
+        int column = 0;
+        for (int i = 0; i < ref.length() && Character.isLetter(ref.charAt(i)); i++) {
+            column = column * 26 + (Character.toUpperCase(ref.charAt(i)) - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            xml.close();
+        } catch (XMLStreamException ignored) {
+            // the underlying stream is closed below
+        } finally {
+            sheet.close();
+            // read-only package: nothing to save
+            pkg.revert();
+        }
+    }
+}
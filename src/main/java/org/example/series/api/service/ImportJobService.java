@@ -0,0 +1,327 @@
+package org.example.series.api.service;
+
+import com.google.gson.Gson;
+import jakarta.annotation.PostConstruct;
+import org.example.series.api.exception.NotFoundException;
+import org.example.series.api.exception.TooManyRequestsException;
+import org.example.series.api.importer.ImportFormat;
+import org.example.series.api.importer.ImportReader;
+import org.example.series.core.model.ImportJob;
+import org.example.series.core.repository.ImportJobRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Asynchronous imports (JSON, CSV or XLSX) for files too large to import within one request.
+ *
+ * The upload is spooled to a local directory and a job row is created; an import worker then runs
+ * the same pipeline as the synchronous upload ({@link SeriesImportService}). Every imported batch
+ * commits together with the job checkpoint, and errors go to an NDJSON log next to the upload,
+ * truncated back to the checkpoint on resume. Jobs interrupted by a shutdown or crash are picked
+ * up again on startup and continue after the last committed item.
+ *
+ * The spool directory must be local to the node and survive restarts: a node only resumes
+ * jobs whose upload it finds there.
+ */
+@Service
+public class ImportJobService {
+
+    private static final String UPLOAD_SUFFIX = ".upload";
+    private static final String ERRORS_SUFFIX = ".errors.ndjson";
+
+    private final SeriesImportService importService;
+    private final ImportJobRepository repository;
+    private final ThreadPoolTaskExecutor executor;
+    private final ThreadPoolTaskExecutor writerExecutor;
+    private final Path dir;
+    private final Duration ttl;
+    private final int maxAttempts;
+    private final Gson gson = new Gson();
+
+    /**
+     * @param dir         spool directory for uploads and error logs
+     * @param ttl         how long a finished job and its error log are kept
+     * @param maxAttempts runs after which an interrupted job is given up
+     */
+    public ImportJobService(SeriesImportService importService,
+                            ImportJobRepository repository,
+                            @Qualifier("importJobExecutor") ThreadPoolTaskExecutor executor,
+                            @Qualifier("importJobWriterExecutor") ThreadPoolTaskExecutor writerExecutor,
+                            @Value("${app.import.jobs.dir:imports}") String dir,
+                            @Value("${app.import.jobs.ttl:7d}") Duration ttl,
+                            @Value("${app.import.jobs.max-attempts:3}") int maxAttempts) {
+        this.importService = importService;
+        this.repository = repository;
+        this.executor = executor;
+        this.writerExecutor = writerExecutor;
+        this.dir = Path.of(dir);
+        this.ttl = ttl;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to prepare import directory " + dir, e);
+        }
+    }
+
+    /**
+     * Spools the upload and queues its import.
+     *
+     * @param file   import file
+     * @param mode   insert or upsert (see {@link SeriesImportService#upload(MultipartFile, ImportJob.Mode)})
+     * @param format file format
+     * @return job status
+     * @throws TooManyRequestsException if all import workers are busy and the queue is full
+     */
+    public Map<String, Object> submit(MultipartFile file, ImportJob.Mode mode, ImportFormat format) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File is required");
+        }
+
+        String id = UUID.randomUUID().toString();
+        Path upload = uploadFile(id);
+        try {
+            file.transferTo(upload);
+        } catch (IOException e) {
+            deleteQuietly(upload);
+            throw new UncheckedIOException("Failed to store upload", e);
+        }
+
+        ImportJob job = repository.save(new ImportJob(id, file.getOriginalFilename(), mode, format.name(), file.getSize()));
+
+        try {
+            executor.execute(() -> run(id));
+        } catch (TaskRejectedException e) {
+            repository.deleteById(id);
+            deleteQuietly(upload);
+            throw new TooManyRequestsException("Import queue is full, try again later");
+        }
+
+        return toStatus(job);
+    }
+
+    public Map<String, Object> status(String jobId) {
+        return toStatus(get(jobId));
+    }
+
+    /**
+     * @param jobId import job id
+     * @return errors logged so far, one JSON object per line in file order (empty if there are none)
+     */
+    public Resource errorLog(String jobId) {
+        get(jobId);
+        Path log = errorLogFile(jobId);
+        // created when the job starts
+        return Files.exists(log) ? new FileSystemResource(log) : new ByteArrayResource(new byte[0]);
+    }
+
+    /**
+     * Queues the jobs interrupted by the previous shutdown again. Jobs interrupted
+     * {@code max-attempts} times are failed instead, their file probably takes the worker down.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (ImportJob job : repository.findByStatusIn(List.of(ImportJob.Status.QUEUED, ImportJob.Status.RUNNING))) {
+            Path upload = uploadFile(job.getId());
+            if (!Files.exists(upload)) {
+                // spooled on another node
+                continue;
+            }
+
+            if (job.getAttempts() >= maxAttempts) {
+                repository.finish(job.getId(), ImportJob.Status.FAILED,
+                        "Import interrupted " + job.getAttempts() + " times", LocalDateTime.now());
+                deleteQuietly(upload);
+                continue;
+            }
+
+            repository.requeue(job.getId());
+            try {
+                executor.execute(() -> run(job.getId()));
+            } catch (TaskRejectedException e) {
+                // stays queued until the next start
+                return;
+            }
+        }
+    }
+
+    /**
+     * Periodically drops finished jobs older than the TTL, with their error logs.
+     */
+    @Scheduled(fixedDelayString = "${app.import.jobs.sweep-interval:PT10M}")
+    public void evictFinished() {
+        for (ImportJob job : repository.findByFinishedAtBefore(LocalDateTime.now().minus(ttl))) {
+            deleteQuietly(errorLogFile(job.getId()));
+            deleteQuietly(uploadFile(job.getId()));
+            repository.delete(job);
+        }
+    }
+
+    private void run(String id) {
+        // another worker took it, or it was given up in the meantime
+        if (repository.start(id, LocalDateTime.now()) == 0) {
+            return;
+        }
+
+        ImportJob job = get(id);
+        SeriesImportService.Checkpoint from = new SeriesImportService.Checkpoint(
+                job.getProcessed(), job.getSucceeded(), job.getFailed(), job.getInserted(), job.getUpdated());
+
+        ImportJob.Status status = ImportJob.Status.FAILED;
+        String error = null;
+
+        ImportFormat format = ImportFormat.valueOf(job.getFormat());
+
+        // the spooled upload is a local file, so XLSX is read from it directly
+        try (ErrorLog log = new ErrorLog(id, job.getErrorLogSize());
+             ImportReader reader = format.open(uploadFile(id))) {
+
+            importService.importItems(reader, format, from, job.getMode(), writerExecutor, log);
+            status = ImportJob.Status.DONE;
+
+        } catch (Exception e) {
+            error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        }
+
+        repository.finish(id, status, error, LocalDateTime.now());
+        deleteQuietly(uploadFile(id));
+    }
+
+    private ImportJob get(String jobId) {
+        return repository.findById(jobId)
+                .orElseThrow(() -> new NotFoundException("Import job not found"));
+    }
+
+    private Map<String, Object> toStatus(ImportJob job) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("jobId", job.getId());
+        status.put("status", job.getStatus().name());
+        status.put("filename", job.getFilename());
+        status.put("mode", job.getMode().name());
+        status.put("format", job.getFormat());
+        status.put("fileSize", job.getFileSize());
+        status.put("processed", job.getProcessed());
+        status.put("succeeded", job.getSucceeded());
+        status.put("failed", job.getFailed());
+        status.put("inserted", job.getInserted());
+        status.put("updated", job.getUpdated());
+        status.put("attempts", job.getAttempts());
+        status.put("createdAt", job.getCreatedAt().toString());
+
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            long millis = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+            // progress is recorded per batch, so is the rate
+            double rate = (job.getProcessed() - job.getResumedFrom()) * 1000.0 / millis;
+
+            status.put("startedAt", job.getStartedAt().toString());
+            status.put("itemsPerSecond", Math.round(rate * 10) / 10.0);
+        }
+        if (job.getFinishedAt() != null) {
+            status.put("finishedAt", job.getFinishedAt().toString());
+        }
+        if (job.getError() != null) {
+            status.put("error", job.getError());
+        }
+
+        status.put("statusUrl", "/api/v1/series/_import/jobs/" + job.getId());
+        status.put("errorsUrl", "/api/v1/series/_import/jobs/" + job.getId() + "/errors");
+        return status;
+    }
+
+    private Path uploadFile(String jobId) {
+        return dir.resolve(jobId + UPLOAD_SUFFIX);
+    }
+
+    private Path errorLogFile(String jobId) {
+        return dir.resolve(jobId + ERRORS_SUFFIX);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // removed by the next sweep
+        }
+    }
+
+    /**
+     * Appends the errors of a running job to its log and records checkpoints.
+     * The log is flushed before each checkpoint, so the recorded size never points past its end.
+     */
+    private final class ErrorLog implements SeriesImportService.ImportListener, Closeable {
+
+        private final String jobId;
+        private final FileChannel channel;
+        private final Writer writer;
+
+        ErrorLog(String jobId, long committedSize) throws IOException {
+            this.jobId = jobId;
+            this.channel = FileChannel.open(errorLogFile(jobId), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+            // errors after the checkpoint belong to items the resumed run processes again
+            channel.truncate(committedSize);
+            channel.position(committedSize);
+            this.writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void failed(Map<String, Object> error) {
+            try {
+                writer.write(gson.toJson(error));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write import error log", e);
+            }
+        }
+
+        @Override
+        public void committed(SeriesImportService.Checkpoint checkpoint) {
+            try {
+                writer.flush();
+                repository.checkpoint(jobId, checkpoint.processed(), checkpoint.succeeded(), checkpoint.failed(),
+                        checkpoint.inserted(), checkpoint.updated(), channel.position());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write import error log", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -1,60 +1,75 @@
 package org.example.series.api.service;
 
-import com.google.gson.Gson;
-import com.google.gson.stream.JsonReader;
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.Validator;
 import org.example.series.api.dto.SeriesListRequest;
-import org.example.series.api.dto.SeriesImportItem;
+import org.example.series.api.dto.SeriesPatchRequest;
 import org.example.series.api.dto.SeriesRequest;
 import org.example.series.api.dto.SeriesResponse;
+import org.example.series.api.exception.ConflictException;
+import org.example.series.api.exception.NotFoundException;
 import org.example.series.api.mapper.SeriesMapper;
-import org.example.series.core.export.ReportCsvWriter;
-import org.example.series.core.export.ReportExcelWriter;
-import org.example.series.core.export.ReportJsonWriter;
+import org.example.series.core.export.ReportBundleWriter;
+import org.example.series.core.export.ReportFormat;
+import org.example.series.core.export.ReportJob;
+import org.example.series.core.export.ReportJobService;
 import org.example.series.core.export.ReportStore;
 import org.example.series.core.model.Series;
+import org.example.series.core.repository.SeriesRepositoryCustom;
+import org.example.series.core.service.DatasetVersion;
 import org.example.series.core.service.SeriesService;
-import org.example.series.core.service.StudioService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 
 /**
- * API-level service that orchestrates requests, delegates to core services, maps entities to DTOs and handles report/download/upload flows.
+ * API-level service that orchestrates requests, delegates to core services, maps entities to DTOs and handles report/download flows.
  */
 @Service
 
 public class SeriesApiService {
 
     private final SeriesService seriesService;
-    private final StudioService studioService;
     private final ReportStore reportStore;
-    private final Validator validator;
-    private final Gson gson = new Gson();
+    private final ReportJobService reportJobService;
+    private final DatasetVersion datasetVersion;
+    private final int xlsxRowWindow;
+    private final ThreadPoolTaskExecutor partitionExecutor;
 
     public SeriesApiService(SeriesService seriesService,
-                           StudioService studioService,
                            ReportStore reportStore,
-                           Validator validator) {
+                           ReportJobService reportJobService,
+                           DatasetVersion datasetVersion,
+                           @Value("${app.report.xlsx.row-window:100}") int xlsxRowWindow,
+                           @Qualifier("reportPartitionExecutor") ThreadPoolTaskExecutor partitionExecutor) {
         this.seriesService = seriesService;
-        this.studioService = studioService;
         this.reportStore = reportStore;
-        this.validator = validator;
+        this.reportJobService = reportJobService;
+        this.datasetVersion = datasetVersion;
+        this.xlsxRowWindow = xlsxRowWindow;
+        this.partitionExecutor = partitionExecutor;
     }
 
     // -------- CRUD --------
@@ -72,18 +87,79 @@ public class SeriesApiService {
                 .toList();
     }
 
-    public SeriesResponse getById(Long id) {
-        return SeriesMapper.toResponse(seriesService.findById(id));
+    /**
+     * Series with its version as the entity tag; Spring MVC answers a matching
+     * If-None-Match with 304 Not Modified and no body.
+     */
+    public ResponseEntity<SeriesResponse> getById(Long id) {
+        Series series = seriesService.findById(id);
+        return ResponseEntity.ok()
+                .eTag(entityTag(series))
+                .body(SeriesMapper.toResponse(series));
     }
 
-    public SeriesResponse update(Long id, SeriesRequest request) {
+    /**
+     * @param ifMatch If-Match header (may be null): the update is applied only if one of its tags is current
+     * @return updated series with its new entity tag
+     */
+    public ResponseEntity<SeriesResponse> update(Long id, SeriesRequest request, String ifMatch) {
         Series entity = SeriesMapper.toEntity(request);
-        Series updated = seriesService.update(id, entity, request.getStudioId());
-        return SeriesMapper.toResponse(updated);
+        Series updated = seriesService.update(id, entity, request.getStudioId(), ifMatchVersions(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(entityTag(updated))
+                .body(SeriesMapper.toResponse(updated));
+    }
+
+    public void patch(Long id, SeriesPatchRequest request) {
+        seriesService.patch(id, new SeriesRepositoryCustom.Patch(
+                request.getTitle(),
+                request.getGenre(),
+                request.getSeasons(),
+                request.getRating(),
+                request.getYear(),
+                request.getFinished(),
+                request.getStudioId()
+        ));
+    }
+
+    /**
+     * @param ifMatch If-Match header (may be null): the series is deleted only if one of its tags is current
+     */
+    public void delete(Long id, String ifMatch) {
+        seriesService.delete(id, ifMatchVersions(ifMatch));
+    }
+
+    private static String entityTag(Series series) {
+        return "\"" + series.getVersion() + "\"";
     }
 
-    public void delete(Long id) {
-        seriesService.delete(id);
+    /**
+     * Versions accepted by an If-Match header, e.g. {@code "3", "4"}.
+     * If-Match uses the strong comparison, so weak ({@code W/"3"}) and foreign tags never match.
+     *
+     * @return null when there is no condition (no header or {@code *}; the series must exist either way),
+     *         otherwise the accepted versions (possibly none)
+     */
+    private static Set<Long> ifMatchVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+
+        Set<Long> versions = new HashSet<>();
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            if (value.equals("*")) {
+                return null;
+            }
+            if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(value.substring(1, value.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // not one of our tags
+                }
+            }
+        }
+        return versions;
     }
 
     public List<SeriesResponse> top(int n) {
@@ -117,178 +193,253 @@ public class SeriesApiService {
 
     // -------- REPORT --------
 
-    public ResponseEntity<?> generateReport(SeriesListRequest request) {
+    /** What a report request produces: file name and type, writer, row order and cache key. */
+    private record ReportPlan(String filename,
+                              String contentType,
+                              BiConsumer<Stream<Series>, OutputStream> writer,
+                              Sort sort,
+                              String cacheKey) {}
+
+    /**
+     * Streams a report straight into the response body. Spring MVC writes the body on its async executor,
+     * so the request thread is released while the rows are written.
+     * An identical report already generated (and still cached) is copied from the report store instead.
+     *
+     * @param request report request (filters, sort, format(s), partitioning)
+     * @return report file
+     */
+    public ResponseEntity<StreamingResponseBody> generateReport(SeriesListRequest request) {
+        ReportPlan plan = plan(request);
+
+        ReportStore.ReportResult cached = reportJobService.findCached(plan.cacheKey());
+        if (cached != null) {
+            Resource resource = cached.resource();
+            StreamingResponseBody body = out -> {
+                try (InputStream in = resource.getInputStream()) {
+                    in.transferTo(out);
+                }
+            };
+            return buildResponse(body, cached.filename(), cached.contentType());
+        }
 
-        String format = request.getFormat();
-        if (format == null || format.isBlank()) format = "csv";
-        format = format.toLowerCase(Locale.ROOT);
+        // a copy is stored while streaming, so the next identical request is served from the cache
+        StreamingResponseBody body = out -> reportJobService.writeThrough(plan.cacheKey(), plan.filename(),
+                plan.contentType(), out, (reportJob, target) -> streamReport(request, plan.sort(), stream -> {
+                    plan.writer().accept(stream, target);
+                    return null;
+                }));
+        return buildResponse(body, plan.filename(), plan.contentType());
+    }
 
-        boolean async = Boolean.TRUE.equals(request.getAsync());
+    /**
+     * Queues a report for a report worker (or joins / reuses an identical one); the request returns immediately.
+     *
+     * @param request report request (filters, sort, format(s), partitioning)
+     * @return 202 with the job id and the status / download URLs
+     */
+    public ResponseEntity<Map<String, Object>> submitReport(SeriesListRequest request) {
+        ReportPlan plan = plan(request);
+
+        ReportJob job = reportJobService.submitCached(plan.cacheKey(), plan.filename(), plan.contentType(),
+                (reportJob, out) -> streamReport(request, plan.sort(), stream -> {
+                    plan.writer().accept(reportJob.track(stream), out);
+                    return null;
+                }));
+
+        return ResponseEntity.accepted().body(Map.of(
+                "jobId", job.getId(),
+                "status", job.getStatus().name(),
+                "statusUrl", "/api/v1/series/_report/" + job.getId() + "/status",
+                "downloadUrl", "/api/v1/series/_report/" + job.getId()
+        ));
+    }
 
-        List<Series> list = seriesService.search(
-                request.getStudioId(),
-                request.getMinRating(),
-                request.getYear(),
-                request.getGenre(),
-                Pageable.unpaged()
-        ).getContent();
+    private ReportPlan plan(SeriesListRequest request) {
+        List<ReportFormat> formats = request.getFormats() == null || request.getFormats().isEmpty()
+                ? List.of(ReportFormat.of(request.getFormat()))
+                : request.getFormats().stream().map(ReportFormat::of).distinct().toList();
+
+        ReportBundleWriter.Partition partition = ReportBundleWriter.Partition.of(request.getPartitionBy());
+
+        // several formats or partitions: one scan, packaged as a ZIP archive
+        boolean bundle = formats.size() > 1 || partition != null;
 
         String baseName = "series-report-" +
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
 
-        // ---- ASYNC ----
-        if (async) {
-            String jobId = UUID.randomUUID().toString();
+        String filename = baseName + "." + (bundle ? "zip" : formats.get(0).extension());
+        String contentType = bundle ? "application/zip" : formats.get(0).contentType();
 
-            byte[] data = switch (format) {
-                case "xlsx" -> ReportExcelWriter.write(list);
-                case "json" -> ReportJsonWriter.write(list);
-                default -> ReportCsvWriter.write(list);
-            };
+        BiConsumer<Stream<Series>, OutputStream> writer = bundle
+                ? (stream, out) -> new ReportBundleWriter(formats, partition, xlsxRowWindow,
+                        partitionExecutor.getThreadPoolExecutor(), partitionExecutor.getMaxPoolSize()).write(stream, out)
+                : (stream, out) -> formats.get(0).write(stream, out, xlsxRowWindow);
 
-            String filename = switch (format) {
-                case "xlsx" -> baseName + ".xlsx";
-                case "json" -> baseName + ".json";
-                default -> baseName + ".csv";
-            };
+        // partitions must arrive one after another, so they are the primary sort key
+        Sort sort = partition == null ? reportSort(request) : partitionSort(partition).and(reportSort(request));
 
-            String contentType = switch (format) {
-                case "xlsx" -> "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
-                case "json" -> MediaType.APPLICATION_JSON_VALUE;
-                default -> "text/csv";
-            };
+        String layout = formats.stream().map(ReportFormat::extension).collect(Collectors.joining(","))
+                + (partition == null ? "" : "/" + partition);
 
-            reportStore.put(jobId, data, filename, contentType);
+        return new ReportPlan(filename, contentType, writer, sort, reportCacheKey(request, layout));
+    }
 
-            return ResponseEntity.accepted().body(Map.of(
-                    "jobId", jobId,
-                    "downloadUrl", "/api/v1/series/_report/" + jobId
-            ));
-        }
+    public Map<String, Object> reportStatus(String jobId) {
+        return toStatus(reportJobService.get(jobId));
+    }
 
-        // ---- SYNC ----
-        return switch (format) {
-            case "xlsx" -> buildResponse(
-                    ReportExcelWriter.write(list),
-                    baseName + ".xlsx",
-                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"
-            );
-            case "json" -> buildResponse(
-                    ReportJsonWriter.write(list),
-                    baseName + ".json",
-                    MediaType.APPLICATION_JSON_VALUE
-            );
-            default -> buildResponse(
-                    ReportCsvWriter.write(list),
-                    baseName + ".csv",
-                    "text/csv"
-            );
-        };
+    public Map<String, Object> cancelReport(String jobId) {
+        return toStatus(reportJobService.cancel(jobId));
     }
 
-    public ResponseEntity<byte[]> downloadReport(String jobId) {
-        ReportStore.ReportResult result = reportStore.get(jobId);
-        if (result == null) {
-            return ResponseEntity.notFound().build();
+    private Map<String, Object> toStatus(ReportJob job) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("jobId", job.getId());
+        status.put("status", job.getStatus().name());
+        status.put("rowsWritten", job.getRowsWritten());
+        status.put("createdAt", job.getCreatedAt().toString());
+        if (job.getFinishedAt() != null) {
+            status.put("finishedAt", job.getFinishedAt().toString());
+        }
+        if (job.getError() != null) {
+            status.put("error", job.getError());
+        }
+        if (job.getStatus() == ReportJob.Status.DONE) {
+            status.put("downloadUrl", "/api/v1/series/_report/" + job.getId());
         }
+        return status;
+    }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + result.filename() + "\"")
-                .header(HttpHeaders.CONTENT_TYPE, result.contentType())
-                .body(result.data());
+    /**
+     * Builds the report cache key: a hash of everything that determines the report content
+     * (filters normalized the way SeriesService applies them, sort, formats / partitioning and data set version).
+     * Paging and the async flag do not affect the file, so they are not part of the key.
+     */
+    private String reportCacheKey(SeriesListRequest request, String layout) {
+        String genre = request.getGenre() == null || request.getGenre().isBlank()
+                ? null
+                : request.getGenre().trim().toLowerCase(Locale.ROOT);
+
+        String canonical = String.join("|",
+                "version=" + datasetVersion.current(),
+                "studioId=" + request.getStudioId(),
+                "minRating=" + request.getMinRating(),
+                "year=" + request.getYear(),
+                "genre=" + genre,
+                "sortBy=" + request.getSortBy(),
+                "direction=" + sortDirection(request.getDirection()),
+                "layout=" + layout);
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private <R> R streamReport(SeriesListRequest request, Sort sort, Function<Stream<Series>, R> consumer) {
+        return seriesService.streamFiltered(
+                request.getStudioId(),
+                request.getMinRating(),
+                request.getYear(),
+                request.getGenre(),
+                sort,
+                consumer
+        );
     }
 
-    private ResponseEntity<byte[]> buildResponse(byte[] data,
-                                                 String filename,
-                                                 String contentType) {
+    private static Sort partitionSort(ReportBundleWriter.Partition partition) {
+        return switch (partition) {
+            case STUDIO -> Sort.by("studio.name", "studio.id");
+            case YEAR -> Sort.by("year");
+        };
+    }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .header(HttpHeaders.CONTENT_TYPE, contentType)
-                .body(data);
+    private Sort reportSort(SeriesListRequest request) {
+        return Sort.by(
+                sortDirection(request.getDirection()),
+                request.getSortBy()
+        );
     }
 
-    // -------- UPLOAD --------
+    /**
+     * @param direction sort direction from a request (case-insensitive), may be null or blank
+     * @return the direction, ASC when none is given
+     * @throws IllegalArgumentException for values other than asc / desc
+     */
+    public static Sort.Direction sortDirection(String direction) {
+        return direction == null || direction.isBlank()
+                ? Sort.Direction.ASC
+                : Sort.Direction.fromString(direction.trim());
+    }
 
-    public Map<String, Object> upload(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            throw new IllegalArgumentException("File is required");
+    /**
+     * Serves a finished async report from the report store.
+     * ETag / If-None-Match and Range requests are handled by Spring MVC for Resource bodies;
+     * clients accepting gzip get the precompressed variant when there is one.
+     *
+     * @param jobId          report job id
+     * @param acceptEncoding value of the Accept-Encoding request header (may be null)
+     * @return report file
+     */
+    public ResponseEntity<Resource> downloadReport(String jobId, String acceptEncoding) {
+        ReportJob.Status status = reportJobService.get(jobId).getStatus();
+        if (status != ReportJob.Status.DONE) {
+            throw new ConflictException("Report is not ready: " + status);
         }
 
-        int success = 0;
-        int failed = 0;
-        List<Map<String, Object>> errors = new ArrayList<>();
+        ReportStore.ReportResult result = reportStore.get(jobId);
+        if (result == null) {
+            throw new NotFoundException("Report has expired");
+        }
 
-        try (InputStream in = file.getInputStream()) {
+        boolean gzip = result.gzipPath() != null && acceptsGzip(acceptEncoding);
 
-            // Streaming JSON parsing to support large files (Task 1 requirement)
-            JsonReader reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
-            reader.beginArray();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + result.filename() + "\"")
+                .header(HttpHeaders.CONTENT_TYPE, result.contentType())
+                // reports never change, so the job id identifies the content
+                .eTag(gzip ? jobId + "-gz" : jobId)
+                .lastModified(result.createdAt());
 
-            int index = 0;
-            while (reader.hasNext()) {
-                index++;
-                SeriesImportItem item = gson.fromJson(reader, SeriesImportItem.class);
-                try {
-                    SeriesRequest req = toRequest(item);
-
-                    // validate each item (same rules as for REST create)
-                    Set<ConstraintViolation<SeriesRequest>> violations = validator.validate(req);
-                    if (!violations.isEmpty()) {
-                        failed++;
-                        errors.add(Map.of(
-                                "index", index,
-                                "reason", "validation",
-                                "details", violations.stream()
-                                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
-                                        .collect(Collectors.toList())
-                        ));
-                        continue;
-                    }
-
-                    create(req);
-                    success++;
-
-                } catch (Exception e) {
-                    failed++;
-                    errors.add(Map.of(
-                            "index", index,
-                            "reason", "import",
-                            "details", e.getMessage() == null ? "error" : e.getMessage()
-                    ));
-                }
-            }
+        if (result.gzipPath() != null) {
+            response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return response.body(new FileSystemResource(result.gzipPath()));
+        }
 
-            reader.endArray();
+        return response.body(result.resource());
+    }
 
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Invalid JSON file");
+    /**
+     * @param acceptEncoding Accept-Encoding header value, e.g. "gzip, deflate;q=0.5"
+     * @return true if gzip (or any coding) is accepted with a non-zero quality
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
         }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
 
-        // keep response small: return only first 20 errors
-        return Map.of(
-                "success", success,
-                "failed", failed,
-                "errors", errors.stream().limit(20).toList()
-        );
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 
-    private SeriesRequest toRequest(SeriesImportItem item) {
-        if (item == null) throw new IllegalArgumentException("Empty item");
-        if (item.getStudio() == null || item.getStudio().getName() == null || item.getStudio().getName().isBlank()) {
-            throw new IllegalArgumentException("Studio name is required");
-        }
+    private <T> ResponseEntity<T> buildResponse(T data,
+                                                String filename,
+                                                String contentType) {
 
-        Long studioId = studioService.findByName(item.getStudio().getName()).getId();
-
-        SeriesRequest req = new SeriesRequest();
-        req.setTitle(item.getTitle());
-        req.setGenre(item.getGenre());
-        req.setSeasons(item.getSeasons() == null ? 0 : item.getSeasons());
-        req.setRating(item.getRating() == null ? 0.0 : item.getRating());
-        req.setYear(item.getYear() == null ? 0 : item.getYear());
-        req.setFinished(item.getFinished());
-        req.setStudioId(studioId);
-        return req;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .header(HttpHeaders.CONTENT_TYPE, contentType)
+                .body(data);
     }
 }
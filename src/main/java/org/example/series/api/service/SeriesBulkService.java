@@ -0,0 +1,216 @@
+package org.example.series.api.service;
+
+import jakarta.validation.Validator;
+import org.example.series.api.dto.SeriesBulkRequest;
+import org.example.series.api.dto.SeriesMgetRequest;
+import org.example.series.api.dto.SeriesRequest;
+import org.example.series.api.exception.BulkOperationException;
+import org.example.series.api.exception.ConflictException;
+import org.example.series.api.mapper.SeriesMapper;
+import org.example.series.core.model.Series;
+import org.example.series.core.service.SeriesService;
+import org.example.series.core.service.StudioCache;
+import org.example.series.core.service.StudioService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * API-level service for bulk requests, for clients that would otherwise send thousands of single calls:
+ * - bulk write: mixed create / update / delete operations in one transaction, with a result per operation
+ * - multi-get: series by a list of ids, with one {@code IN} query joined with the studios
+ *
+ * A bulk write is all or nothing. Every operation is validated first (same rules as the single endpoints);
+ * if any is invalid, or one fails while writing (unknown id, duplicate series), nothing is written
+ * and the response status is the one of the first failure.
+ */
+@Service
+public class SeriesBulkService {
+
+    private final SeriesService seriesService;
+    private final StudioService studioService;
+    private final Validator validator;
+    private final int maxOperations;
+
+    public SeriesBulkService(SeriesService seriesService,
+                             StudioService studioService,
+                             Validator validator,
+                             @Value("${app.bulk.max-operations:1000}") int maxOperations) {
+        this.seriesService = seriesService;
+        this.studioService = studioService;
+        this.validator = validator;
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Executes the operations in order, in one transaction.
+     *
+     * Result per operation: {@code index}, {@code op}, {@code status} (201 created, 200 updated, 204 deleted;
+     * 400, 404 or 409 for the failed operation; 424 for operations not applied because of it),
+     * {@code id}, and {@code series} or {@code error}.
+     *
+     * @param request operations
+     * @return 200 with committed=true and the results, or the status of the first failure with committed=false
+     */
+    public ResponseEntity<Map<String, Object>> bulk(SeriesBulkRequest request) {
+        List<SeriesBulkRequest.Operation> requested = request == null ? null : request.getOperations();
+        checkSize(requested, "Operations");
+
+        List<SeriesService.BulkOperation> operations = new ArrayList<>(requested.size());
+        Map<Integer, Map<String, Object>> invalid = new LinkedHashMap<>();
+
+        // studio lookups (validation and writes) are memoized for the whole request
+        try (StudioCache.Scope studios = studioService.openImportScope()) {
+
+            for (int i = 0; i < requested.size(); i++) {
+                try {
+                    operations.add(toOperation(requested.get(i)));
+                } catch (IllegalArgumentException e) {
+                    operations.add(null);
+                    invalid.put(i, failure(i, requested.get(i), HttpStatus.BAD_REQUEST, e.getMessage()));
+                }
+            }
+
+            if (!invalid.isEmpty()) {
+                int first = invalid.keySet().iterator().next();
+                return rejected(requested, invalid, first, HttpStatus.BAD_REQUEST);
+            }
+
+            List<Series> written;
+            try {
+                written = seriesService.bulk(operations);
+            } catch (BulkOperationException e) {
+                HttpStatus status = e.getCause() instanceof ConflictException
+                        ? HttpStatus.CONFLICT
+                        : HttpStatus.NOT_FOUND;
+                int index = e.getIndex();
+                return rejected(requested, Map.of(index, failure(index, requested.get(index), status, e.getMessage())),
+                        index, status);
+            }
+
+            List<Map<String, Object>> results = new ArrayList<>(written.size());
+            for (int i = 0; i < written.size(); i++) {
+                results.add(success(i, operations.get(i), written.get(i)));
+            }
+            return ResponseEntity.ok(Map.of("committed", true, "results", results));
+        }
+    }
+
+    /**
+     * Fetches series by id with one query.
+     *
+     * @param request ids; duplicates are returned once
+     * @return {@code series}: found series in request order, {@code missing}: ids that do not exist
+     */
+    public Map<String, Object> mget(SeriesMgetRequest request) {
+        List<Long> requested = request == null ? null : request.getIds();
+        checkSize(requested, "Ids");
+        if (requested.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Ids must not be null");
+        }
+
+        List<Long> ids = requested.stream().distinct().toList();
+        Map<Long, Series> found = seriesService.findAllById(ids).stream()
+                .collect(Collectors.toMap(Series::getId, Function.identity()));
+
+        return Map.of(
+                "series", ids.stream().filter(found::containsKey).map(id -> SeriesMapper.toResponse(found.get(id))).toList(),
+                "missing", ids.stream().filter(id -> !found.containsKey(id)).toList()
+        );
+    }
+
+    private void checkSize(List<?> items, String name) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException(name + " are required");
+        }
+        if (items.size() > maxOperations) {
+            throw new IllegalArgumentException("At most " + maxOperations + " items per request");
+        }
+    }
+
+    /** Maps and validates one operation. */
+    private SeriesService.BulkOperation toOperation(SeriesBulkRequest.Operation op) {
+        if (op == null || op.getOp() == null) {
+            throw new IllegalArgumentException("Operation is required (create, update or delete)");
+        }
+
+        SeriesService.BulkOperation.Type type = switch (op.getOp().toLowerCase(Locale.ROOT)) {
+            case "create" -> SeriesService.BulkOperation.Type.CREATE;
+            case "update" -> SeriesService.BulkOperation.Type.UPDATE;
+            case "delete" -> SeriesService.BulkOperation.Type.DELETE;
+            default -> throw new IllegalArgumentException("Unsupported operation: " + op.getOp()
+                    + " (expected create, update or delete)");
+        };
+
+        if (type != SeriesService.BulkOperation.Type.CREATE && op.getId() == null) {
+            throw new IllegalArgumentException("Id is required for " + op.getOp());
+        }
+        if (type == SeriesService.BulkOperation.Type.DELETE) {
+            return new SeriesService.BulkOperation(type, op.getId(), null, null);
+        }
+
+        SeriesRequest data = op.getData();
+        if (data == null) {
+            throw new IllegalArgumentException("Data is required for " + op.getOp());
+        }
+        List<String> violations = validator.validate(data).stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .toList();
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", violations));
+        }
+
+        return new SeriesService.BulkOperation(type, op.getId(), SeriesMapper.toEntity(data), data.getStudioId());
+    }
+
+    private static Map<String, Object> success(int index, SeriesService.BulkOperation op, Series series) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+        result.put("op", op.type().name().toLowerCase(Locale.ROOT));
+        switch (op.type()) {
+            case CREATE -> result.put("status", HttpStatus.CREATED.value());
+            case UPDATE -> result.put("status", HttpStatus.OK.value());
+            case DELETE -> result.put("status", HttpStatus.NO_CONTENT.value());
+        }
+        result.put("id", series == null ? op.id() : series.getId());
+        if (series != null) {
+            result.put("series", SeriesMapper.toResponse(series));
+        }
+        return result;
+    }
+
+    private static Map<String, Object> failure(int index, SeriesBulkRequest.Operation op, HttpStatus status, String error) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+        result.put("op", op == null ? null : op.getOp());
+        result.put("status", status.value());
+        result.put("id", op == null ? null : op.getId());
+        result.put("error", error);
+        return result;
+    }
+
+    /** Response of a rolled back bulk: the failures, and every other operation marked as not applied. */
+    private static ResponseEntity<Map<String, Object>> rejected(List<SeriesBulkRequest.Operation> requested,
+                                                              Map<Integer, Map<String, Object>> failures,
+                                                              int first,
+                                                              HttpStatus status) {
+        List<Map<String, Object>> results = new ArrayList<>(requested.size());
+        for (int i = 0; i < requested.size(); i++) {
+            Map<String, Object> failure = failures.get(i);
+            results.add(failure != null
+                    ? failure
+                    : failure(i, requested.get(i), HttpStatus.FAILED_DEPENDENCY, "Not applied: operation " + first + " failed"));
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("committed", false);
+        body.put("results", results);
+        return ResponseEntity.status(status).body(body);
+    }
+}
@@ -0,0 +1,851 @@
+package org.example.series.api.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.series.api.dto.SeriesImportItem;
+import org.example.series.api.dto.SeriesRequest;
+import org.example.series.api.exception.TooManyRequestsException;
+import org.example.series.api.importer.ImportFormat;
+import org.example.series.api.importer.ImportReader;
+import org.example.series.api.mapper.SeriesMapper;
+import org.example.series.core.loader.SeriesCopyLoader;
+import org.example.series.core.model.ImportJob;
+import org.example.series.core.model.Series;
+import org.example.series.core.repository.SeriesRepositoryCustom;
+import org.example.series.core.service.SeriesService;
+import org.example.series.core.service.StudioCache;
+import org.example.series.core.service.StudioService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * API-level service handling series imports: upload (batched JPA inserts) and
+ * bulk loads through the Postgres COPY loader (upload and catalog directory).
+ * Files are JSON, CSV or XLSX ({@link ImportFormat}); every format is read as a stream
+ * of import items and goes through the same validation and persistence.
+ *
+ * The JSON upload runs as a pipeline of three stages connected by a bounded queue:
+ * - parse: the request thread reads the file and cuts it into chunks of items
+ * - validate: chunks are mapped and validated in parallel on the import validation pool
+ * - write: one writer per import takes the chunks in file order and inserts valid items in batches
+ * The queue holds the validation futures in file order, so error indices stay exact
+ * and a slow stage applies back-pressure to the one before it.
+ * Each batch commits together with a checkpoint (see {@link ImportListener#committed}),
+ * which lets import jobs resume after a crash.
+ */
+@Service
+public class SeriesImportService {
+
+    /** Max number of errors returned by imports, keeps the response small. */
+    private static final int IMPORT_ERROR_LIMIT = 20;
+
+    /** Items validated by one task; large enough to amortize the hand-off between stages. */
+    private static final int CHUNK_SIZE = 256;
+
+    private static final Future<List<ValidatedItem>> END = CompletableFuture.completedFuture(List.of());
+
+    private final SeriesService seriesService;
+    private final StudioService studioService;
+    private final Validator validator;
+    private final SeriesCopyLoader copyLoader;
+    private final ThreadPoolTaskExecutor writerExecutor;
+    private final ThreadPoolTaskExecutor validationExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final String catalogDir;
+
+    public SeriesImportService(SeriesService seriesService,
+                               StudioService studioService,
+                               Validator validator,
+                               SeriesCopyLoader copyLoader,
+                               @Qualifier("importExecutor") ThreadPoolTaskExecutor writerExecutor,
+                               @Qualifier("importValidationExecutor") ThreadPoolTaskExecutor validationExecutor,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.import.batch-size:1000}") int batchSize,
+                               @Value("${app.import.catalog-dir:data}") String catalogDir) {
+        this.seriesService = seriesService;
+        this.studioService = studioService;
+        this.validator = validator;
+        this.copyLoader = copyLoader;
+        this.writerExecutor = writerExecutor;
+        this.validationExecutor = validationExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.catalogDir = catalogDir;
+    }
+
+    // -------- UPLOAD --------
+
+    /**
+     * Position of an import in its file: items consumed so far (imported or reported as failed),
+     * how many of them were imported and how many rows that inserted / updated
+     * (in upsert mode items repeating a key within one batch touch no row of their own).
+     */
+    public record Checkpoint(long processed, long succeeded, long failed, long inserted, long updated) {
+        public static final Checkpoint START = new Checkpoint(0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Receives the outcome of an import. Called on the writer thread, in file order.
+     */
+    public interface ImportListener {
+
+        /** An item was not imported; the error holds its index, reason and details. */
+        void failed(Map<String, Object> error);
+
+        /**
+         * Items up to {@code checkpoint.processed()} are written. Called inside the transaction
+         * committing them, so whatever is recorded here commits together with the series.
+         */
+        void committed(Checkpoint checkpoint);
+    }
+
+    /**
+     * Imports series from a JSON file. Valid items are inserted in batches;
+     * invalid ones are reported with their 1-based position in the file.
+     *
+     * @param file JSON array of import items
+     * @return import summary: success/failed/errors
+     * @throws TooManyRequestsException if all import writers are busy and their queue is full
+     */
+    public Map<String, Object> upload(MultipartFile file) {
+        return upload(file, ImportJob.Mode.INSERT);
+    }
+
+    /**
+     * Imports series from a JSON array. In {@link ImportJob.Mode#UPSERT} mode a series with the same
+     * title, year and studio as an existing one (or a later item of the file) overwrites it,
+     * so uploading the same file again changes nothing.
+     *
+     * @param file JSON array of import items
+     * @param mode insert (duplicates fail) or upsert
+     * @return import summary: success/failed/errors, plus inserted/updated in upsert mode
+     * @throws TooManyRequestsException if all import writers are busy and their queue is full
+     */
+    public Map<String, Object> upload(MultipartFile file, ImportJob.Mode mode) {
+        return upload(file, mode, ImportFormat.JSON);
+    }
+
+    /**
+     * Imports series from a JSON, CSV or XLSX file, see {@link #upload(MultipartFile, ImportJob.Mode)}.
+     * Item indices in the errors are 1-based data rows for CSV and XLSX (the header is not counted).
+     *
+     * @param file   import file
+     * @param mode   insert (duplicates fail) or upsert
+     * @param format file format
+     * @return import summary: success/failed/errors, plus inserted/updated in upsert mode
+     * @throws TooManyRequestsException if all import writers are busy and their queue is full
+     */
+    public Map<String, Object> upload(MultipartFile file, ImportJob.Mode mode, ImportFormat format) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File is required");
+        }
+
+        // keep response small: only the first IMPORT_ERROR_LIMIT errors by item index are kept
+        // (validation errors are recorded before the batch of their neighbours is written), in a max-heap
+        // whose head is the one to drop; the total number of failures is counted by the pipeline
+        Comparator<Map<String, Object>> byIndex = Comparator.comparingInt(error -> (Integer) error.get("index"));
+        PriorityQueue<Map<String, Object>> errors = new PriorityQueue<>(IMPORT_ERROR_LIMIT + 1, byIndex.reversed());
+        Checkpoint result;
+
+        try {
+            result = read(file, format, reader -> importItems(reader, format, Checkpoint.START, mode, writerExecutor,
+                    new ImportListener() {
+                        @Override
+                        public void failed(Map<String, Object> error) {
+                            errors.add(error);
+                            if (errors.size() > IMPORT_ERROR_LIMIT) {
+                                errors.poll();
+                            }
+                        }
+
+                        @Override
+                        public void committed(Checkpoint checkpoint) {
+                            // nothing to record, the response is built at the end
+                        }
+                    }));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(invalidFile(format));
+        }
+
+        List<Map<String, Object>> firstErrors = errors.stream().sorted(byIndex).toList();
+
+        if (mode == ImportJob.Mode.UPSERT) {
+            return Map.of(
+                    "success", Math.toIntExact(result.succeeded()),
+                    "failed", Math.toIntExact(result.failed()),
+                    "inserted", result.inserted(),
+                    "updated", result.updated(),
+                    "errors", firstErrors
+            );
+        }
+        return Map.of(
+                "success", Math.toIntExact(result.succeeded()),
+                "failed", Math.toIntExact(result.failed()),
+                "errors", firstErrors
+        );
+    }
+
+    /**
+     * Runs the import pipeline over the items of a reader, starting after the items of {@code from}
+     * (they are read and skipped, the counters continue from the checkpoint).
+     *
+     * @param reader   import items
+     * @param format   format of the reader, for the error message
+     * @param from     checkpoint to resume from, {@link Checkpoint#START} for a new import
+     * @param mode     insert or upsert
+     * @param writers  executor running the write stage
+     * @param listener receives errors and commits
+     * @return final counters
+     * @throws IllegalArgumentException if the file is broken (items before the broken part are imported)
+     * @throws TooManyRequestsException if the writer executor rejects the import
+     * @throws RuntimeException         thrown by the reader, after the writer has stopped
+     */
+    Checkpoint importItems(ImportReader reader,
+                           ImportFormat format,
+                           Checkpoint from,
+                           ImportJob.Mode mode,
+                           ThreadPoolTaskExecutor writers,
+                           ImportListener listener) {
+        ImportBatch batch = new ImportBatch(from, mode, listener);
+        BlockingQueue<Future<List<ValidatedItem>>> pending =
+                new ArrayBlockingQueue<>(2 * validationExecutor.getMaxPoolSize());
+        boolean invalidFile = false;
+
+        // studio lookups (by name, validation, create fallback) are memoized for the whole file
+        try (StudioCache.Scope studios = studioService.openImportScope()) {
+
+            Future<?> writer;
+            try {
+                writer = writers.submit(() -> write(pending, batch, studios));
+            } catch (TaskRejectedException e) {
+                throw new TooManyRequestsException("Import queue is full, try again later");
+            }
+
+            Throwable failure = null;
+            try {
+                parse(reader, pending, studios, batch, from.processed());
+            } catch (IOException e) {
+                // items before the broken part are still imported, as with the serial upload
+                invalidFile = true;
+            } catch (Throwable e) {
+                // e.g. a NumberFormatException from a reader: the writer stops and drains the queue
+                batch.aborted = true;
+                failure = e;
+            }
+
+            try {
+                finish(pending, writer);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    throw e;
+                }
+                failure.addSuppressed(e.getCause());
+            }
+
+            if (failure instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (failure instanceof Error error) {
+                throw error;
+            }
+            if (failure instanceof InterruptedException interrupted) {
+                throw interrupted;
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while importing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Import failed", e.getCause());
+        }
+
+        if (invalidFile) {
+            throw new IllegalArgumentException(invalidFile(format));
+        }
+        return batch.checkpoint();
+    }
+
+    /**
+     * Ends the queue and waits for the writer, also if this thread is interrupted meanwhile:
+     * the writer uses the studio scope, which must not be closed before it is done.
+     * The interrupt is restored afterwards.
+     */
+    private static void finish(BlockingQueue<Future<List<ValidatedItem>>> pending, Future<?> writer)
+            throws ExecutionException {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    pending.put(END);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            while (true) {
+                try {
+                    writer.get();
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Parse stage: streams the file and hands chunks of items to the validation pool.
+     * The first {@code skip} items are only skipped over. Stops early when the writer has failed.
+     */
+    private void parse(ImportReader reader,
+                       BlockingQueue<Future<List<ValidatedItem>>> pending,
+                       StudioCache.Scope studios,
+                       ImportBatch batch,
+                       long skip) throws IOException, InterruptedException {
+
+        // Streaming parsing to support large files (Task 1 requirement)
+        int index = 0;
+        while (index < skip && reader.skip()) {
+            index++;
+        }
+
+        List<IndexedItem> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (!batch.aborted) {
+            IndexedItem next;
+            try {
+                SeriesImportItem item = reader.next();
+                if (item == null) {
+                    break;
+                }
+                next = new IndexedItem(index + 1, item, null);
+            } catch (ImportReader.InvalidItemException e) {
+                // e.g. text in a number column: reported like a validation error
+                next = new IndexedItem(index + 1, null, e.getMessage());
+            }
+            index++;
+            chunk.add(next);
+
+            if (chunk.size() == CHUNK_SIZE) {
+                submitValidation(chunk, pending, studios);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+
+        submitValidation(chunk, pending, studios);
+    }
+
+    private void submitValidation(List<IndexedItem> chunk,
+                                  BlockingQueue<Future<List<ValidatedItem>>> pending,
+                                  StudioCache.Scope studios) throws InterruptedException {
+        if (!chunk.isEmpty()) {
+            // blocks while the writer is behind: at most 2 chunks per validation thread are in flight
+            pending.put(validationExecutor.submit(() -> validate(chunk, studios)));
+        }
+    }
+
+    /**
+     * Validate stage: maps and validates one chunk (same rules as for REST create).
+     */
+    private List<ValidatedItem> validate(List<IndexedItem> chunk, StudioCache.Scope studios) {
+        try (StudioCache.Binding bound = studios.bind()) {
+            List<ValidatedItem> result = new ArrayList<>(chunk.size());
+
+            for (IndexedItem item : chunk) {
+                if (item.invalid() != null) {
+                    result.add(ValidatedItem.failed(Map.of(
+                            "index", item.index(),
+                            "reason", "validation",
+                            "details", List.of(item.invalid())
+                    )));
+                    continue;
+                }
+
+                try {
+                    SeriesRequest req = toRequest(item.item());
+
+                    Set<ConstraintViolation<SeriesRequest>> violations = validator.validate(req);
+                    if (!violations.isEmpty()) {
+                        result.add(ValidatedItem.failed(Map.of(
+                                "index", item.index(),
+                                "reason", "validation",
+                                "details", violations.stream()
+                                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                                        .collect(Collectors.toList())
+                        )));
+                        continue;
+                    }
+
+                    result.add(new ValidatedItem(item.index(), req, null));
+
+                } catch (Exception e) {
+                    result.add(ValidatedItem.failed(ImportBatch.importError(item.index(), e)));
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Write stage: consumes validated chunks in file order and inserts valid items in batches.
+     * After a failure, its own or the parser's ({@code batch.aborted}), it keeps draining the queue
+     * so that the parser never blocks on it.
+     */
+    private Void write(BlockingQueue<Future<List<ValidatedItem>>> pending,
+                       ImportBatch batch,
+                       StudioCache.Scope studios) throws Exception {
+        boolean drained = false;
+
+        try (StudioCache.Binding bound = studios.bind()) {
+            for (Future<List<ValidatedItem>> chunk = pending.take(); chunk != END; chunk = pending.take()) {
+                if (batch.aborted) {
+                    // the parser failed: the import is not completed, drained below
+                    chunk.cancel(false);
+                    return null;
+                }
+                for (ValidatedItem item : chunk.get()) {
+                    batch.processed = item.index();
+
+                    if (item.error() != null) {
+                        batch.fail(item.error());
+                        continue;
+                    }
+
+                    batch.add(item.index(), item.request());
+                    if (batch.size() >= batchSize) {
+                        flush(batch);
+                    }
+                }
+            }
+            drained = true;
+
+            if (!batch.aborted) {
+                flush(batch);
+            }
+            return null;
+
+        } finally {
+            if (!drained) {
+                batch.aborted = true;
+            }
+            while (!drained) {
+                Future<List<ValidatedItem>> chunk = pending.take();
+                chunk.cancel(false);
+                drained = chunk == END;
+            }
+        }
+    }
+
+    /**
+     * Writes the collected items in one transaction (JDBC batch inserts or one upsert statement),
+     * together with the checkpoint. If the batch fails, its items are retried one by one so that
+     * only the broken ones are reported and the rest is still imported; the checkpoint then follows
+     * in its own transaction.
+     */
+    private void flush(ImportBatch batch) {
+        if (batch.size() == 0) {
+            // errors only since the last batch
+            if (batch.processed > batch.committed) {
+                transactionTemplate.executeWithoutResult(tx -> batch.listener.committed(batch.checkpoint()));
+                batch.committed = batch.processed;
+            }
+            return;
+        }
+
+        try {
+            Checkpoint written = transactionTemplate.execute(tx -> {
+                SeriesRepositoryCustom.UpsertResult result = persist(batch.requests, batch.mode);
+                Checkpoint checkpoint = new Checkpoint(batch.processed, batch.succeeded + batch.size(), batch.failed,
+                        batch.inserted + result.inserted(), batch.updated + result.updated());
+                batch.listener.committed(checkpoint);
+                return checkpoint;
+            });
+            batch.succeeded = written.succeeded();
+            batch.inserted = written.inserted();
+            batch.updated = written.updated();
+
+        } catch (Exception batchFailure) {
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    SeriesRepositoryCustom.UpsertResult result = persistOne(batch.requests.get(i), batch.mode);
+                    batch.succeeded++;
+                    batch.inserted += result.inserted();
+                    batch.updated += result.updated();
+                } catch (Exception e) {
+                    batch.fail(ImportBatch.importError(batch.indices.get(i), e));
+                }
+            }
+            transactionTemplate.executeWithoutResult(tx -> batch.listener.committed(batch.checkpoint()));
+        }
+
+        batch.committed = batch.processed;
+        batch.requests.clear();
+        batch.indices.clear();
+    }
+
+    private SeriesRepositoryCustom.UpsertResult persist(List<SeriesRequest> requests, ImportJob.Mode mode) {
+        List<Series> series = requests.stream().map(SeriesMapper::toEntity).collect(Collectors.toList());
+        List<Long> studioIds = requests.stream().map(SeriesRequest::getStudioId).toList();
+
+        if (mode == ImportJob.Mode.UPSERT) {
+            return seriesService.upsertAll(series, studioIds);
+        }
+        seriesService.createAll(series, studioIds);
+        return new SeriesRepositoryCustom.UpsertResult(series.size(), 0, 0);
+    }
+
+    private SeriesRepositoryCustom.UpsertResult persistOne(SeriesRequest request, ImportJob.Mode mode) {
+        if (mode == ImportJob.Mode.UPSERT) {
+            return persist(List.of(request), mode);
+        }
+        // reports a duplicate as a conflict instead of a constraint violation
+        seriesService.create(SeriesMapper.toEntity(request), request.getStudioId());
+        return new SeriesRepositoryCustom.UpsertResult(1, 0, 0);
+    }
+
+    /** Item read by the parse stage, or the reason it could not be mapped. */
+    private record IndexedItem(int index, SeriesImportItem item, String invalid) {}
+
+    /** Outcome of the validate stage for one item: a valid request or an error. */
+    private record ValidatedItem(int index, SeriesRequest request, Map<String, Object> error) {
+        static ValidatedItem failed(Map<String, Object> error) {
+            return new ValidatedItem((Integer) error.get("index"), null, error);
+        }
+    }
+
+    /** Import state, owned by the writer: pending valid items and the running counters. */
+    private static final class ImportBatch {
+        final List<SeriesRequest> requests = new ArrayList<>();
+        final List<Integer> indices = new ArrayList<>();
+        final ImportJob.Mode mode;
+        final ImportListener listener;
+        long processed;
+        long committed;
+        long succeeded;
+        long failed;
+        long inserted;
+        long updated;
+        volatile boolean aborted;
+
+        ImportBatch(Checkpoint from, ImportJob.Mode mode, ImportListener listener) {
+            this.mode = mode;
+            this.listener = listener;
+            this.processed = from.processed();
+            this.committed = from.processed();
+            this.succeeded = from.succeeded();
+            this.failed = from.failed();
+            this.inserted = from.inserted();
+            this.updated = from.updated();
+        }
+
+        void add(int index, SeriesRequest request) {
+            indices.add(index);
+            requests.add(request);
+        }
+
+        void fail(Map<String, Object> error) {
+            failed++;
+            listener.failed(error);
+        }
+
+        int size() {
+            return requests.size();
+        }
+
+        Checkpoint checkpoint() {
+            return new Checkpoint(processed, succeeded, failed, inserted, updated);
+        }
+
+        static Map<String, Object> importError(int index, Exception e) {
+            return Map.of(
+                    "index", index,
+                    "reason", "import",
+                    "details", e.getMessage() == null ? "error" : e.getMessage()
+            );
+        }
+    }
+
+
+    // -------- bulk load (COPY) --------
+
+    /**
+     * Imports series from a JSON file with the Postgres COPY bulk loader (no Hibernate, one transaction).
+     * Series that already exist (same title, year and studio) are updated, the others are inserted.
+     *
+     * @param file JSON array of import items
+     * @return import summary: success/failed/inserted/updated/errors
+     */
+    public Map<String, Object> uploadCopy(MultipartFile file) {
+        return uploadCopy(file, ImportFormat.JSON);
+    }
+
+    /**
+     * Bulk-loads a JSON, CSV or XLSX file with the COPY loader, see {@link #uploadCopy(MultipartFile)}.
+     *
+     * @param file   import file
+     * @param format file format
+     * @return import summary: success/failed/inserted/updated/errors
+     */
+    public Map<String, Object> uploadCopy(MultipartFile file, ImportFormat format) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File is required");
+        }
+
+        try {
+            return read(file, format, reader -> {
+                try (Stream<ReadItem> items = readItems(reader)) {
+                    return copyImport(items);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalArgumentException(invalidFile(format));
+        }
+    }
+
+    /**
+     * Bulk-loads every {@code *.json}, {@code *.csv} and {@code *.xlsx} file of the catalog directory
+     * (same formats as the upload; a JSON file may also hold a single item) with the COPY loader.
+     * Intended for scheduled catalog refreshes.
+     *
+     * Item indices in the errors count across all files, in file name order.
+     *
+     * @return import summary: success/failed/inserted/updated/errors
+     */
+    public Map<String, Object> importCatalog() {
+        Path dir = Path.of(catalogDir);
+        if (!Files.isDirectory(dir)) {
+            throw new IllegalArgumentException("Catalog directory not found: " + catalogDir);
+        }
+
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> catalog = files
+                    .filter(f -> ImportFormat.isSupported(f.getFileName().toString()))
+                    .sorted()
+                    .toList();
+
+            try (Stream<ReadItem> items = catalog.stream().flatMap(this::readItems)) {
+                return copyImport(items);
+            }
+
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalArgumentException("Invalid catalog file: " + e.getMessage());
+        }
+    }
+
+    private Map<String, Object> copyImport(Stream<ReadItem> items) {
+        CopyImport copyImport = new CopyImport();
+
+        SeriesCopyLoader.Result result = copyLoader.load(
+                items.map(copyImport::toRow).filter(Objects::nonNull),
+                IMPORT_ERROR_LIMIT
+        );
+
+        List<Map<String, Object>> errors = new ArrayList<>(copyImport.errors);
+        for (SeriesCopyLoader.Rejected rejected : result.examples()) {
+            errors.add(importError(rejected.line(), "import", "Studio not found: " + rejected.studioName()));
+        }
+
+        return Map.of(
+                "success", result.inserted() + result.updated(),
+                "failed", copyImport.failed + result.rejected(),
+                "inserted", result.inserted(),
+                "updated", result.updated(),
+                "errors", errors.stream()
+                        .sorted(Comparator.comparingLong(error -> ((Number) error.get("index")).longValue()))
+                        .limit(IMPORT_ERROR_LIMIT)
+                        .toList()
+        );
+    }
+
+    /** Item read for the COPY loader, or the reason it could not be mapped. */
+    private record ReadItem(SeriesImportItem item, String invalid) {}
+
+    /** Items of a reader, read lazily; closing the stream closes the reader. */
+    private static Stream<ReadItem> readItems(ImportReader reader) {
+        Iterator<ReadItem> iterator = new Iterator<>() {
+            private ReadItem next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        SeriesImportItem item = reader.next();
+                        next = item == null ? null : new ReadItem(item, null);
+                    } catch (ImportReader.InvalidItemException e) {
+                        next = new ReadItem(null, e.getMessage());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public ReadItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ReadItem item = next;
+                next = null;
+                return item;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException ignored) {
+                        // read-only file
+                    }
+                });
+    }
+
+    private Stream<ReadItem> readItems(Path file) {
+        try {
+            return readItems(ImportFormat.of(null, file.getFileName().toString()).open(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+    }
+
+    /**
+     * Opens a reader over the uploaded file and applies the action to it.
+     * XLSX is a ZIP package read with random access, so it is copied to a temp file first.
+     */
+    private static <R> R read(MultipartFile file, ImportFormat format, ReaderAction<R> action) throws IOException {
+        if (!format.needsFile()) {
+            try (InputStream in = file.getInputStream();
+                 ImportReader reader = format.open(in)) {
+                return action.apply(reader);
+            }
+        }
+
+        Path copy = Files.createTempFile("series-import-", "." + format.extension());
+        try {
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+            }
+            try (ImportReader reader = format.open(copy)) {
+                return action.apply(reader);
+            }
+        } finally {
+            Files.deleteIfExists(copy);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ReaderAction<R> {
+        R apply(ImportReader reader) throws IOException;
+    }
+
+    private static String invalidFile(ImportFormat format) {
+        return "Invalid " + format.label() + " file";
+    }
+
+    private static Map<String, Object> importError(long index, String reason, Object details) {
+        return Map.of("index", index, "reason", reason, "details", details);
+    }
+
+    /**
+     * Validates items for the COPY loader. Studios are resolved by name in the database,
+     * so the per-item studio lookup and the studioId constraints are skipped.
+     * Only the first errors are kept, bulk loads may contain millions of items.
+     */
+    private final class CopyImport {
+        final List<Map<String, Object>> errors = new ArrayList<>();
+        long index;
+        long failed;
+
+        SeriesCopyLoader.Row toRow(ReadItem read) {
+            index++;
+            if (read.invalid() != null) {
+                fail(importError(index, "validation", List.of(read.invalid())));
+                return null;
+            }
+
+            SeriesImportItem item = read.item();
+            try {
+                String studioName = requireStudioName(item);
+                SeriesRequest req = toRequest(item, null);
+
+                List<String> violations = validator.validate(req).stream()
+                        .filter(v -> !"studioId".equals(v.getPropertyPath().toString()))
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .toList();
+                if (!violations.isEmpty()) {
+                    fail(importError(index, "validation", violations));
+                    return null;
+                }
+
+                return new SeriesCopyLoader.Row(index, req.getTitle(), req.getGenre(), req.getSeasons(),
+                        req.getRating(), req.getYear(), Boolean.TRUE.equals(req.getFinished()), studioName);
+
+            } catch (IllegalArgumentException e) {
+                fail(importError(index, "import", e.getMessage()));
+                return null;
+            }
+        }
+
+        private void fail(Map<String, Object> error) {
+            failed++;
+            if (errors.size() < IMPORT_ERROR_LIMIT) {
+                errors.add(error);
+            }
+        }
+    }
+
+    private SeriesRequest toRequest(SeriesImportItem item) {
+        Long studioId = studioService.findByName(requireStudioName(item)).getId();
+        return toRequest(item, studioId);
+    }
+
+    private static String requireStudioName(SeriesImportItem item) {
+        if (item == null) throw new IllegalArgumentException("Empty item");
+        if (item.getStudio() == null || item.getStudio().getName() == null || item.getStudio().getName().isBlank()) {
+            throw new IllegalArgumentException("Studio name is required");
+        }
+        return item.getStudio().getName();
+    }
+
+    private static SeriesRequest toRequest(SeriesImportItem item, Long studioId) {
+        SeriesRequest req = new SeriesRequest();
+        req.setTitle(item.getTitle());
+        req.setGenre(item.getGenre());
+        req.setSeasons(item.getSeasons() == null ? 0 : item.getSeasons());
+        req.setRating(item.getRating() == null ? 0.0 : item.getRating());
+        req.setYear(item.getYear() == null ? 0 : item.getYear());
+        req.setFinished(item.getFinished());
+        req.setStudioId(studioId);
+        return req;
+    }
+}
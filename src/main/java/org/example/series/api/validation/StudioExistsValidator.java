@@ -2,7 +2,7 @@ package org.example.series.api.validation;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-import org.example.series.core.repository.StudioRepository;
+import org.example.series.core.service.StudioCache;
 import org.springframework.stereotype.Component;
 
 
@@ -14,10 +14,10 @@ import org.springframework.stereotype.Component;
 
 public class StudioExistsValidator implements ConstraintValidator<StudioExists, Long> {
 
-    private final StudioRepository studioRepository;
+    private final StudioCache studioCache;
 
-    public StudioExistsValidator(StudioRepository studioRepository) {
-        this.studioRepository = studioRepository;
+    public StudioExistsValidator(StudioCache studioCache) {
+        this.studioCache = studioCache;
     }
 
     @Override
@@ -27,6 +27,7 @@ public class StudioExistsValidator implements ConstraintValidator<StudioExists,
             return false;
         }
 
-        return studioRepository.existsById(value);
+        // served from the import scope / shared cache when one is active
+        return studioCache.exists(value);
     }
 }
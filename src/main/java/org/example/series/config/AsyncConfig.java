@@ -1,13 +1,161 @@
+package org.example.series.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 
 
 /**
- * Spring configuration for async execution and executor bean.
+ * Spring configuration for the bounded executors of reports, imports and async web requests.
+ * Scheduling is enabled for periodic report cleanup.
  */
 @Configuration
-@EnableAsync
-
+@EnableScheduling
 public class AsyncConfig {
+
+    /**
+     * Spring MVC async request processing: streamed sync reports and the XML statistics download.
+     * Boot hands the bean of this name to MVC, but only creates its own when there is no other
+     * Executor bean, so without it MVC would fall back to a new thread per async request.
+     * When all threads are busy and the queue is full, new requests are rejected with HTTP 429.
+     *
+     * @param threads       number of threads writing async responses
+     * @param queueCapacity max number of async responses waiting for a thread
+     * @return web async executor
+     */
+    @Bean(name = "applicationTaskExecutor")
+    public ThreadPoolTaskExecutor applicationTaskExecutor(
+            @Value("${app.web.async.threads:16}") int threads,
+            @Value("${app.web.async.queue-capacity:64}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("web-async-");
+        return executor;
+    }
+
+    /**
+     * Bounded worker pool for asynchronous report jobs.
+     * When all workers are busy and the queue is full, new jobs are rejected
+     * (mapped to HTTP 429 by ReportJobService).
+     *
+     * @param threads       number of report workers
+     * @param queueCapacity max number of jobs waiting for a worker
+     * @return report executor
+     */
+    @Bean(name = "reportExecutor")
+    public ThreadPoolTaskExecutor reportExecutor(
+            @Value("${app.report.jobs.threads:2}") int threads,
+            @Value("${app.report.jobs.queue-capacity:20}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-");
+        return executor;
+    }
+
+    /**
+     * Workers encoding the partitions of report bundles (one file set per studio or year)
+     * in parallel. The queue is unbounded, but each bundle submits at most {@code threads}
+     * partitions before waiting for its oldest one, so the queue holds at most {@code threads} tasks
+     * per running bundle.
+     *
+     * @param threads number of partition workers
+     * @return partition executor
+     */
+    @Bean(name = "reportPartitionExecutor")
+    public ThreadPoolTaskExecutor reportPartitionExecutor(
+            @Value("${app.report.bundle.threads:4}") int threads) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("report-partition-");
+        return executor;
+    }
+
+    /**
+     * Writers of JSON uploads: one thread per running import.
+     * When all writers are busy and the queue is full, new uploads are rejected with HTTP 429.
+     *
+     * @param imports       max number of imports written concurrently
+     * @param queueCapacity max number of uploads waiting for a writer
+     * @return import writer executor
+     */
+    @Bean(name = "importExecutor")
+    public ThreadPoolTaskExecutor importExecutor(
+            @Value("${app.import.max-concurrent:2}") int imports,
+            @Value("${app.import.queue-capacity:4}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(imports);
+        executor.setMaxPoolSize(imports);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("import-");
+        return executor;
+    }
+
+    /**
+     * Workers validating chunks of uploaded items, shared by all imports. The queue is unbounded:
+     * every import keeps at most two chunks per worker in flight, its parser blocks beyond that.
+     *
+     * @param threads number of validation workers
+     * @return import validation executor
+     */
+    @Bean(name = "importValidationExecutor")
+    public ThreadPoolTaskExecutor importValidationExecutor(
+            @Value("${app.import.threads:4}") int threads) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("import-validate-");
+        return executor;
+    }
+
+    /**
+     * Workers running asynchronous import jobs (see ImportJobService), one job per worker.
+     * When all workers are busy and the queue is full, new jobs are rejected with HTTP 429.
+     *
+     * @param threads       number of import job workers
+     * @param queueCapacity max number of jobs waiting for a worker
+     * @return import job executor
+     */
+    @Bean(name = "importJobExecutor")
+    public ThreadPoolTaskExecutor importJobExecutor(
+            @Value("${app.import.jobs.threads:1}") int threads,
+            @Value("${app.import.jobs.queue-capacity:20}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("import-job-");
+        return executor;
+    }
+
+    /**
+     * Write stages of running import jobs: a job worker parses its file and hands the
+     * writing to this pool, so it needs as many threads as there are job workers.
+     *
+     * @param threads number of import job workers
+     * @return import job writer executor
+     */
+    @Bean(name = "importJobWriterExecutor")
+    public ThreadPoolTaskExecutor importJobWriterExecutor(
+            @Value("${app.import.jobs.threads:1}") int threads) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("import-job-writer-");
+        return executor;
+    }
 }
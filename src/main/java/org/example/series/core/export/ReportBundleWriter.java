@@ -0,0 +1,306 @@
+package org.example.series.core.export;
+
+import org.example.series.core.model.Series;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ReportBundleWriter
+ *
+ * Writes one scan of report rows into several formats and/or one file per partition
+ * (studio or year), packaged as a ZIP archive.
+ *
+ * Design notes:
+ * - The rows are read once; every row is pushed to the {@link ReportRowWriter}s of its partition
+ * - Rows must arrive grouped by partition (the caller sorts by the partition key first),
+ *   so only the partitions currently being encoded are open
+ * - Each partition is encoded on the given executor while the scan continues with the next one,
+ *   up to {@code maxPartitions} partitions at a time; the scan waits for the oldest one before opening more
+ * - Every partition in flight buffers up to {@value #QUEUE_CAPACITY} rows plus its writers' state
+ *   (e.g. the XLSX row window), so memory grows with {@code maxPartitions}, not with the number of partitions
+ * - Partition files are spooled to temp files and appended to the ZIP in partition order
+ *   as soon as they are complete, then deleted
+ */
+public class ReportBundleWriter {
+
+    /** How rows are split into files. */
+    public enum Partition {
+        STUDIO(s -> safeName(s.getStudio().getName()) + "-" + s.getStudio().getId()),
+        YEAR(s -> String.valueOf(s.getYear()));
+
+        private final Function<Series, String> key;
+
+        Partition(Function<Series, String> key) {
+            this.key = key;
+        }
+
+        /**
+         * @param value partition name from a request (case-insensitive), may be empty
+         * @return partition, or null when no partitioning is requested
+         * @throws IllegalArgumentException for unknown values
+         */
+        public static Partition of(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            for (Partition partition : values()) {
+                if (partition.name().equalsIgnoreCase(value.trim())) {
+                    return partition;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported partitionBy: " + value + " (expected studio or year)");
+        }
+    }
+
+    private static final String BASE_NAME = "series-report";
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final Object END = new Object();
+
+    private final List<ReportFormat> formats;
+    private final Partition partition;
+    private final int xlsxRowWindow;
+    private final ExecutorService executor;
+    private final int maxPartitions;
+
+    /**
+     * @param formats       formats written for every partition
+     * @param partition     partitioning, or null for a single partition
+     * @param xlsxRowWindow rows of an XLSX sheet kept in memory
+     * @param executor      pool encoding partitions in parallel
+     * @param maxPartitions partitions submitted and not yet zipped at a time (usually the pool size)
+     */
+    public ReportBundleWriter(List<ReportFormat> formats,
+                              Partition partition,
+                              int xlsxRowWindow,
+                              ExecutorService executor,
+                              int maxPartitions) {
+        this.formats = List.copyOf(formats);
+        this.partition = partition;
+        this.xlsxRowWindow = xlsxRowWindow;
+        this.executor = executor;
+        this.maxPartitions = Math.max(1, maxPartitions);
+    }
+
+    /**
+     * Writes the ZIP archive.
+     *
+     * Entry layout: {@code series-report.<ext>} without partitioning,
+     * {@code <partition>/series-report.<ext>} with it.
+     *
+     * @param series rows grouped by partition (consumed once)
+     * @param out    target stream (flushed, not closed)
+     */
+    public void write(Stream<Series> series, OutputStream out) {
+        Path dir = null;
+        Deque<PartitionTask> pending = new ArrayDeque<>();
+        PartitionTask current = null;
+
+        try {
+            dir = Files.createTempDirectory(BASE_NAME);
+            ZipOutputStream zip = new ZipOutputStream(out);
+
+            for (Series s : (Iterable<Series>) series::iterator) {
+                String key = partition == null ? "" : partition.key.apply(s);
+
+                if (current == null || !current.key.equals(key)) {
+                    if (current != null) {
+                        current.end();
+                    }
+                    // partitions that are done are zipped while the scan goes on;
+                    // with maxPartitions in flight the scan waits for the oldest one
+                    appendCompleted(pending, zip, maxPartitions);
+
+                    current = new PartitionTask(key, dir);
+                    current.future = executor.submit(current);
+                    pending.add(current);
+                }
+                current.put(s);
+            }
+
+            if (current == null) {
+                // empty result: still one set of files with headers only
+                current = new PartitionTask("", dir);
+                current.future = executor.submit(current);
+                pending.add(current);
+            }
+            current.end();
+            current = null;
+
+            appendCompleted(pending, zip, 1);
+            zip.finish();
+            out.flush();
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write report bundle", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing report bundle", e);
+        } finally {
+            if (current != null) {
+                current.endQuietly();
+            }
+            for (PartitionTask task : pending) {
+                task.future.cancel(false);
+                task.awaitQuietly();
+            }
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * Appends finished partitions to the archive in order, stopping at the first unfinished one
+     * once fewer than {@code limit} partitions are pending (a limit of 1 waits for all of them).
+     * Every pending partition has already ended, so waiting for the oldest one cannot block its worker.
+     */
+    private void appendCompleted(Deque<PartitionTask> pending, ZipOutputStream zip, int limit)
+            throws IOException, InterruptedException {
+
+        while (!pending.isEmpty() && (pending.size() >= limit || pending.peek().future.isDone())) {
+            PartitionTask task = pending.peek();
+            try {
+                task.future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IOException("Failed to write report partition " + task.key, cause);
+            }
+            pending.poll();
+
+            for (Map.Entry<ReportFormat, Path> file : task.files.entrySet()) {
+                String name = BASE_NAME + "." + file.getKey().extension();
+                zip.putNextEntry(new ZipEntry(task.key.isEmpty() ? name : task.key + "/" + name));
+                Files.copy(file.getValue(), zip);
+                zip.closeEntry();
+                Files.delete(file.getValue());
+            }
+        }
+    }
+
+    private static String safeName(String value) {
+        String name = value == null ? "" : value.trim().replaceAll("[^\\p{L}\\p{N}._-]+", "_");
+        return name.isEmpty() ? "unnamed" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private static void deleteQuietly(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException ignored) {
+            // temp directory, removed by the OS eventually
+        }
+    }
+
+    /**
+     * Encodes the rows of one partition into one temp file per format.
+     */
+    private final class PartitionTask implements Callable<Void> {
+
+        private final String key;
+        private final Map<ReportFormat, Path> files = new LinkedHashMap<>();
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private boolean ended;
+        private Future<Void> future;
+
+        PartitionTask(String key, Path dir) throws IOException {
+            this.key = key;
+            for (ReportFormat format : formats) {
+                files.put(format, Files.createTempFile(dir, "part-", "." + format.extension()));
+            }
+        }
+
+        void put(Series series) throws InterruptedException {
+            queue.put(series);
+        }
+
+        void end() throws InterruptedException {
+            queue.put(END);
+            ended = true;
+        }
+
+        /** Ends the partition after a failure: pending rows are dropped, never blocks. */
+        void endQuietly() {
+            if (!ended) {
+                // this thread is the only producer, so after clear() there is room for the marker
+                queue.clear();
+                queue.offer(END);
+                ended = true;
+            }
+        }
+
+        void awaitQuietly() {
+            try {
+                future.get();
+            } catch (Exception ignored) {
+                // the original failure is already being reported
+            }
+        }
+
+        @Override
+        public Void call() throws Exception {
+            boolean drained = false;
+
+            List<OutputStream> streams = new ArrayList<>();
+            List<ReportRowWriter> writers = new ArrayList<>();
+            try {
+                for (Map.Entry<ReportFormat, Path> file : files.entrySet()) {
+                    OutputStream stream = new BufferedOutputStream(Files.newOutputStream(file.getValue()));
+                    streams.add(stream);
+                    writers.add(file.getKey().open(stream, xlsxRowWindow));
+                }
+
+                for (Object row = queue.take(); row != END; row = queue.take()) {
+                    for (ReportRowWriter writer : writers) {
+                        writer.write((Series) row);
+                    }
+                }
+                drained = true;
+
+                for (ReportRowWriter writer : writers) {
+                    writer.finish();
+                }
+                return null;
+
+            } finally {
+                for (ReportRowWriter writer : writers) {
+                    writer.close();
+                }
+                for (OutputStream stream : streams) {
+                    stream.close();
+                }
+                // keep the scanning thread from blocking on a full queue after a failure
+                while (!drained) {
+                    drained = queue.take() == END;
+                }
+            }
+        }
+    }
+}
@@ -2,8 +2,14 @@ package org.example.series.core.export;
 
 import org.example.series.core.model.Series;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * ReportCsvWriter
@@ -12,11 +18,12 @@ import java.util.List;
  * Responsibilities:
  * - Transform domain model (Series) into flat CSV structure
  * - Apply proper escaping for text fields
- * - Produce UTF-8 encoded byte array for HTTP response download
+ * - Stream UTF-8 encoded rows to an OutputStream (HTTP response or file)
  * Design notes:
  * - Stateless utility class
  * - No dependency on Spring
  * - Works directly with domain model
+ * - Rows are encoded through a small buffer, memory does not depend on report size
  * - Follows SRP (Single Responsibility Principle)
  */
 /**
@@ -24,50 +31,91 @@ import java.util.List;
  */
 public class ReportCsvWriter {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     /**
-     * Converts list of Series into CSV byte array.
+     * Streams Series rows as CSV directly into the given output stream.
      * CSV structure:
-     * Title,Seasons,Rating,Year,Finished,Studio
+     * Title,Seasons,Rating,Year,Finished,Studio,Genre
+     * (Genre comes last, so the report can be imported again and older readers keep their columns)
+     * The output stream is flushed but not closed.
      *
-     * @param list list of Series entities to export
-     * @return UTF-8 encoded CSV file as byte array
+     * @param series stream of Series entities to export (consumed once)
+     * @param out    target stream, e.g. servlet response body
      */
-    public static byte[] write(List<Series> list) {
+    public static void write(Stream<Series> series, OutputStream out) {
+        try (ReportRowWriter writer = open(out)) {
 
-        StringBuilder sb = new StringBuilder();
+            // Encode each record as soon as it is read
+            for (Series s : (Iterable<Series>) series::iterator) {
+                writer.write(s);
+            }
+            writer.finish();
 
-        // CSV header
-        sb.append("Title,Seasons,Rating,Year,Finished,Studio\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write CSV report", e);
+        }
+    }
+
+    /**
+     * Opens a row writer producing the same CSV as {@link #write(Stream, OutputStream)}.
+     * The header is written immediately.
+     *
+     * @param out target stream (flushed by finish, not closed)
+     * @return row writer
+     */
+    public static ReportRowWriter open(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
 
-        // Iterate through all records and build CSV rows
-        for (Series s : list) {
+        // CSV header
+        writer.write("Title,Seasons,Rating,Year,Finished,Studio,Genre\n");
 
-            sb.append("\"").append(escape(s.getTitle())).append("\",")
-                    .append(s.getSeasons()).append(",")
-                    .append(s.getRating()).append(",")
-                    .append(s.getYear()).append(",")
-                    .append(s.isFinished()).append(",")
-                    .append("\"").append(escape(s.getStudio().getName())).append("\"")
-                    .append("\n");
-        }
+        return new ReportRowWriter() {
+            @Override
+            public void write(Series s) throws IOException {
+                writeQuoted(writer, s.getTitle());
+                writer.write(',');
+                writer.write(Integer.toString(s.getSeasons()));
+                writer.write(',');
+                writer.write(Double.toString(s.getRating()));
+                writer.write(',');
+                writer.write(Integer.toString(s.getYear()));
+                writer.write(',');
+                writer.write(s.isFinished() ? "true" : "false");
+                writer.write(',');
+                writeQuoted(writer, s.getStudio().getName());
+                writer.write(',');
+                writeQuoted(writer, s.getGenre());
+                writer.write('\n');
+            }
 
-        // Convert to UTF-8 byte array for file download
-        return sb.toString().getBytes(StandardCharsets.UTF_8);
+            @Override
+            public void finish() throws IOException {
+                writer.flush();
+            }
+        };
     }
 
     /**
-     * Escapes CSV value by:
-     * - replacing inner quotes with double quotes
+     * Writes a quoted CSV value, doubling inner quotes on the fly.
      * Example:
-     *  Stranger "Things" -> Stranger ""Things""
+     *  Stranger "Things" -> "Stranger ""Things"""
      *
-     * @param value raw string value
-     * @return escaped value safe for CSV
+     * @param writer target writer
+     * @param value  raw string value (null is written as empty)
      */
-    private static String escape(String value) {
-        if (value == null) {
-            return "";
+    private static void writeQuoted(Writer writer, String value) throws IOException {
+        writer.write('"');
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    writer.write('"');
+                }
+                writer.write(c);
+            }
         }
-        return value.replace("\"", "\"\"");
+        writer.write('"');
     }
 }
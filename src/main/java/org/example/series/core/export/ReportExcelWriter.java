@@ -2,12 +2,12 @@ package org.example.series.core.export;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.example.series.core.model.Series;
 
-import java.io.ByteArrayOutputStream;
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
 
 /**
  * ReportExcelWriter
@@ -15,74 +15,143 @@ import java.util.List;
  * into Excel (.xlsx) format.
  * Responsibilities:
  * - Transform domain model (Series) into tabular Excel structure
- * - Create in-memory XLSX workbook using Apache POI
- * - Return generated file as byte array for HTTP download
+ * - Stream XLSX workbook using Apache POI SXSSF
+ * - Write generated file directly to an OutputStream (HTTP response or file)
  * Design notes:
  * - Stateless utility class
  * - No Spring dependency
- * - Uses XSSFWorkbook (in-memory workbook)
- * - Suitable for small/medium datasets
- * WARNING:
- * For very large datasets (50k+ rows),
- * consider using SXSSFWorkbook (streaming version).
+ * - Uses SXSSFWorkbook: only the last {@code rowWindow} rows are kept in memory,
+ *   older rows are flushed to a compressed temp file
+ * - Column widths are estimated from sampled cell values while writing
+ *   (autoSizeColumn would need every row in memory and is very slow)
  */
 /**
  * Writes report data to Excel (XLSX) format.
  */
 public class ReportExcelWriter {
 
+    /** Default number of rows kept in memory before flushing to disk. */
+    public static final int DEFAULT_ROW_WINDOW = 100;
+
+    private static final String[] HEADERS =
+            {"Title", "Seasons", "Rating", "Year", "Finished", "Studio", "Genre"};
+
+    /** All rows up to this index are measured, after that only every SAMPLE_STEP-th row. */
+    private static final int SAMPLE_ROWS = 1000;
+    private static final int SAMPLE_STEP = 100;
+
+    private static final int MAX_COLUMN_CHARS = 80;
+
     /**
-     * Converts list of Series into Excel (.xlsx) byte array.
+     * Streams Series into Excel (.xlsx) directly to the given output stream.
      *
      * Sheet structure:
-     * | Title | Seasons | Rating | Year | Finished | Studio |
+     * | Title | Seasons | Rating | Year | Finished | Studio | Genre |
+     *
+     * @param series    stream of Series entities to export (consumed once)
+     * @param out       target stream, e.g. servlet response body (not closed)
+     * @param rowWindow number of rows kept in memory
+     */
+    public static void write(Stream<Series> series, OutputStream out, int rowWindow) {
+
+        try (ReportRowWriter writer = open(out, rowWindow)) {
+
+            // Populate data rows
+            for (Series s : (Iterable<Series>) series::iterator) {
+                writer.write(s);
+            }
+            writer.finish();
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to write Excel report", e);
+        }
+    }
+
+    /**
+     * Opens a row writer producing the same workbook as {@link #write(Stream, OutputStream, int)}.
+     * The workbook is written to {@code out} by finish; close deletes the temp files.
      *
-     * @param list list of Series entities to export
-     * @return generated Excel file as byte array
+     * @param out       target stream (not closed)
+     * @param rowWindow number of rows kept in memory
+     * @return row writer
      */
-    public static byte[] write(List<Series> list) {
+    public static ReportRowWriter open(OutputStream out, int rowWindow) {
+        return new SheetWriter(out, rowWindow);
+    }
+
+    private static final class SheetWriter implements ReportRowWriter {
+
+        private final OutputStream out;
+        private final SXSSFWorkbook workbook;
+        private final Sheet sheet;
+        private final int[] widths = new int[HEADERS.length];
+        private int rowIdx = 1;
 
-        try (Workbook workbook = new XSSFWorkbook()) {
+        SheetWriter(OutputStream out, int rowWindow) {
+            this.out = out;
+            this.workbook = new SXSSFWorkbook(Math.max(1, rowWindow));
+
+            // flushed rows are gzip-compressed in the temp file
+            workbook.setCompressTempFiles(true);
 
             // Create sheet
-            Sheet sheet = workbook.createSheet("Series");
+            sheet = workbook.createSheet("Series");
 
             // Create header row
             Row header = sheet.createRow(0);
-            header.createCell(0).setCellValue("Title");
-            header.createCell(1).setCellValue("Seasons");
-            header.createCell(2).setCellValue("Rating");
-            header.createCell(3).setCellValue("Year");
-            header.createCell(4).setCellValue("Finished");
-            header.createCell(5).setCellValue("Studio");
+            for (int i = 0; i < HEADERS.length; i++) {
+                header.createCell(i).setCellValue(HEADERS[i]);
+                widths[i] = HEADERS[i].length();
+            }
+        }
 
-            int rowIdx = 1;
+        @Override
+        public void write(Series s) {
+            Row row = sheet.createRow(rowIdx);
 
-            // Populate data rows
-            for (Series s : list) {
-                Row row = sheet.createRow(rowIdx++);
-
-                row.createCell(0).setCellValue(s.getTitle());
-                row.createCell(1).setCellValue(s.getSeasons());
-                row.createCell(2).setCellValue(s.getRating());
-                row.createCell(3).setCellValue(s.getYear());
-                row.createCell(4).setCellValue(s.isFinished());
-                row.createCell(5).setCellValue(s.getStudio().getName());
+            row.createCell(0).setCellValue(s.getTitle());
+            row.createCell(1).setCellValue(s.getSeasons());
+            row.createCell(2).setCellValue(s.getRating());
+            row.createCell(3).setCellValue(s.getYear());
+            row.createCell(4).setCellValue(s.isFinished());
+            row.createCell(5).setCellValue(s.getStudio().getName());
+            row.createCell(6).setCellValue(s.getGenre());
+
+            if (rowIdx <= SAMPLE_ROWS || rowIdx % SAMPLE_STEP == 0) {
+                measure(widths, 0, s.getTitle());
+                measure(widths, 1, String.valueOf(s.getSeasons()));
+                measure(widths, 2, String.valueOf(s.getRating()));
+                measure(widths, 3, String.valueOf(s.getYear()));
+                measure(widths, 4, String.valueOf(s.isFinished()));
+                measure(widths, 5, s.getStudio().getName());
+                measure(widths, 6, s.getGenre());
             }
 
-            // Auto-size columns for better readability
-            for (int i = 0; i < 6; i++) {
-                sheet.autoSizeColumn(i);
+            rowIdx++;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            // Column width unit is 1/256 of a character, plus a small padding
+            for (int i = 0; i < widths.length; i++) {
+                sheet.setColumnWidth(i, Math.min(widths[i] + 2, MAX_COLUMN_CHARS) * 256);
             }
 
-            // Write workbook to byte array
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
             workbook.write(out);
+            out.flush();
+        }
 
-            return out.toByteArray();
+        @Override
+        public void close() throws IOException {
+            // deletes the temp files backing flushed rows
+            workbook.dispose();
+            workbook.close();
+        }
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to write Excel report", e);
+    private static void measure(int[] widths, int column, String value) {
+        if (value != null && value.length() > widths[column]) {
+            widths[column] = value.length();
         }
     }
 }
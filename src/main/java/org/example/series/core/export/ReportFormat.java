@@ -0,0 +1,86 @@
+package org.example.series.core.export;
+
+import org.example.series.core.model.Series;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Supported report file formats with their file extension, content type and writer.
+ */
+public enum ReportFormat {
+
+    CSV("csv", "text/csv"),
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    JSON("json", "application/json"),
+    NDJSON("ndjson", "application/x-ndjson"),
+    PARQUET("parquet", "application/vnd.apache.parquet");
+
+    private final String extension;
+    private final String contentType;
+
+    ReportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * @param value format name from a request (case-insensitive)
+     * @return matching format; CSV when the value is empty or unknown
+     */
+    public static ReportFormat of(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        for (ReportFormat format : values()) {
+            if (format.extension.equals(value.trim().toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        return CSV;
+    }
+
+    /**
+     * Writes the whole stream in this format.
+     *
+     * @param series        rows (consumed once)
+     * @param out           target stream (flushed, not closed)
+     * @param xlsxRowWindow rows of an XLSX sheet kept in memory
+     */
+    public void write(Stream<Series> series, OutputStream out, int xlsxRowWindow) {
+        switch (this) {
+            case XLSX -> ReportExcelWriter.write(series, out, xlsxRowWindow);
+            case JSON -> ReportJsonWriter.write(series, out, false);
+            case NDJSON -> ReportJsonWriter.writeNdjson(series, out);
+            case PARQUET -> ReportParquetWriter.write(series, out, ReportParquetWriter.DEFAULT_ROW_GROUP_SIZE);
+            default -> ReportCsvWriter.write(series, out);
+        }
+    }
+
+    /**
+     * Opens a push-style writer in this format.
+     *
+     * @param out           target stream (flushed by finish, not closed)
+     * @param xlsxRowWindow rows of an XLSX sheet kept in memory
+     * @return row writer
+     */
+    public ReportRowWriter open(OutputStream out, int xlsxRowWindow) throws IOException {
+        return switch (this) {
+            case XLSX -> ReportExcelWriter.open(out, xlsxRowWindow);
+            case JSON -> ReportJsonWriter.open(out, false);
+            case NDJSON -> ReportJsonWriter.openNdjson(out);
+            case PARQUET -> ReportParquetWriter.open(out, ReportParquetWriter.DEFAULT_ROW_GROUP_SIZE);
+            default -> ReportCsvWriter.open(out);
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.series.core.export;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * State of an asynchronous report job: lifecycle status, progress and outcome.
+ * Status transitions: QUEUED -> RUNNING -> DONE | FAILED | CANCELLED (QUEUED -> CANCELLED is allowed too).
+ */
+public class ReportJob {
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED, CANCELLED }
+
+    private final String id;
+    private final String filename;
+    private final String contentType;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private final AtomicLong rowsWritten = new AtomicLong();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+    private volatile Future<?> future;
+
+    public ReportJob(String id, String filename, String contentType) {
+        this.id = id;
+        this.filename = filename;
+        this.contentType = contentType;
+    }
+
+    /**
+     * Wraps report rows so that every row handed to a writer is counted
+     * and a cancellation request stops the job at the next row.
+     *
+     * @param rows rows to track
+     * @return tracked stream
+     */
+    public <T> Stream<T> track(Stream<T> rows) {
+        return rows.peek(row -> {
+            if (cancelRequested) {
+                throw new CancellationException("Report job cancelled: " + id);
+            }
+            rowsWritten.incrementAndGet();
+        });
+    }
+
+    /** @return true if the job may run, false if it was cancelled while queued */
+    synchronized boolean start() {
+        if (status != Status.QUEUED) {
+            return false;
+        }
+        status = Status.RUNNING;
+        return true;
+    }
+
+    synchronized void complete() {
+        finish(Status.DONE, null);
+    }
+
+    synchronized void fail(String message) {
+        finish(cancelRequested ? Status.CANCELLED : Status.FAILED, message);
+    }
+
+    /** @return false if the job has already finished */
+    synchronized boolean cancel() {
+        if (isFinished()) {
+            return false;
+        }
+        cancelRequested = true;
+        if (status == Status.QUEUED) {
+            finish(Status.CANCELLED, null);
+        }
+        return true;
+    }
+
+    private void finish(Status finalStatus, String message) {
+        this.status = finalStatus;
+        this.error = message;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public boolean isFinished() {
+        return status == Status.DONE || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    void setFuture(Future<?> future) { this.future = future; }
+    Future<?> getFuture() { return future; }
+
+    public String getId() { return id; }
+    public String getFilename() { return filename; }
+    public String getContentType() { return contentType; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Status getStatus() { return status; }
+    public long getRowsWritten() { return rowsWritten.get(); }
+    public String getError() { return error; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+}
@@ -0,0 +1,245 @@
+package org.example.series.core.export;
+
+import org.example.series.api.exception.ConflictException;
+import org.example.series.api.exception.NotFoundException;
+import org.example.series.api.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs report generation on the bounded report executor and tracks job state.
+ * Finished artifacts are written to {@link ReportStore}; finished jobs are forgotten
+ * after the store TTL, together with their reports.
+ *
+ * Jobs can be registered under a cache key (a canonical description of the report content,
+ * including the data set version). Identical requests then reuse the finished report or
+ * join the job that is still producing it instead of generating the same file again.
+ */
+@Service
+public class ReportJobService {
+
+    /**
+     * Writes a report for the given job into the output stream.
+     * Implementations should pass their rows through {@link ReportJob#track} for progress and cancellation.
+     */
+    @FunctionalInterface
+    public interface ReportTask {
+        void write(ReportJob job, OutputStream out);
+    }
+
+    private final ThreadPoolTaskExecutor executor;
+    private final ReportStore reportStore;
+    private final ConcurrentHashMap<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    /** cache key -> id of the job producing that report */
+    private final ConcurrentHashMap<String, String> cache = new ConcurrentHashMap<>();
+
+    public ReportJobService(@Qualifier("reportExecutor") ThreadPoolTaskExecutor executor,
+                            ReportStore reportStore) {
+        this.executor = executor;
+        this.reportStore = reportStore;
+    }
+
+    /**
+     * Queues a report job.
+     *
+     * @param filename    download file name
+     * @param contentType download content type
+     * @param task        report writer
+     * @return queued job
+     * @throws TooManyRequestsException if all workers are busy and the queue is full
+     */
+    public ReportJob submit(String filename, String contentType, ReportTask task) {
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), filename, contentType);
+        jobs.put(job.getId(), job);
+
+        try {
+            job.setFuture(executor.submit(() -> execute(job, task)));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            throw new TooManyRequestsException("Report queue is full, try again later");
+        }
+
+        return job;
+    }
+
+    /**
+     * Returns the queued, running or finished job for the same cache key,
+     * or queues a new one if there is none (or its report is gone / it failed).
+     *
+     * @param cacheKey    canonical report key
+     * @param filename    download file name
+     * @param contentType download content type
+     * @param task        report writer, used only when a new job is queued
+     * @return existing or newly queued job
+     * @throws TooManyRequestsException if a new job is needed and the queue is full
+     */
+    public ReportJob submitCached(String cacheKey, String filename, String contentType, ReportTask task) {
+        ReportJob[] result = new ReportJob[1];
+
+        // compute() makes concurrent identical requests end up with the same job
+        cache.compute(cacheKey, (key, jobId) -> {
+            ReportJob cached = jobId == null ? null : jobs.get(jobId);
+            result[0] = isReusable(cached) ? cached : submit(filename, contentType, task);
+            return result[0].getId();
+        });
+
+        return result[0];
+    }
+
+    /**
+     * @param cacheKey canonical report key
+     * @return finished report for the key, or null if there is none
+     */
+    public ReportStore.ReportResult findCached(String cacheKey) {
+        String jobId = cache.get(cacheKey);
+        ReportJob job = jobId == null ? null : jobs.get(jobId);
+
+        if (job == null || job.getStatus() != ReportJob.Status.DONE) {
+            return null;
+        }
+        return reportStore.get(jobId);
+    }
+
+    /**
+     * Runs a report on the calling thread, writing it into {@code out} and into the
+     * report store at the same time. Once complete, the stored copy is registered under
+     * the cache key, so later identical requests are served without querying the database.
+     *
+     * @param cacheKey    canonical report key
+     * @param filename    download file name
+     * @param contentType download content type
+     * @param out         primary target, e.g. the response body
+     * @param task        report writer
+     */
+    public void writeThrough(String cacheKey, String filename, String contentType, OutputStream out, ReportTask task) {
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), filename, contentType);
+        job.start();
+
+        try {
+            reportStore.put(job.getId(), filename, contentType,
+                    stored -> task.write(job, new TeeOutputStream(out, stored)));
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+            throw e;
+        }
+
+        job.complete();
+        jobs.put(job.getId(), job);
+        cache.put(cacheKey, job.getId());
+    }
+
+    public ReportJob get(String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundException("Report job not found");
+        }
+        return job;
+    }
+
+    /**
+     * Cancels a queued or running job. A running job stops at the next row.
+     *
+     * @throws ConflictException if the job has already finished
+     */
+    public ReportJob cancel(String jobId) {
+        ReportJob job = get(jobId);
+
+        if (!job.cancel()) {
+            throw new ConflictException("Report job already finished: " + job.getStatus());
+        }
+
+        // removes a queued job from the executor queue; a running one checks the flag per row
+        if (job.getFuture() != null) {
+            job.getFuture().cancel(false);
+        }
+        executor.getThreadPoolExecutor().purge();
+
+        return job;
+    }
+
+    /** @return number of jobs waiting for a worker */
+    public int queueDepth() {
+        return executor.getThreadPoolExecutor().getQueue().size();
+    }
+
+    /**
+     * Periodically drops finished jobs older than the report TTL.
+     */
+    @Scheduled(fixedDelayString = "${app.report.store.sweep-interval:PT1M}")
+    public void evictFinished() {
+        LocalDateTime threshold = LocalDateTime.now().minus(reportStore.getTtl());
+
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(threshold));
+        cache.values().removeIf(jobId -> !jobs.containsKey(jobId));
+    }
+
+    private boolean isReusable(ReportJob job) {
+        if (job == null) {
+            return false;
+        }
+        if (!job.isFinished()) {
+            return true;
+        }
+        return job.getStatus() == ReportJob.Status.DONE && reportStore.get(job.getId()) != null;
+    }
+
+    private void execute(ReportJob job, ReportTask task) {
+        if (!job.start()) {
+            return;
+        }
+
+        try {
+            reportStore.put(job.getId(), job.getFilename(), job.getContentType(), out -> task.write(job, out));
+            job.complete();
+
+        } catch (CancellationException e) {
+            job.fail(null);
+        } catch (Exception e) {
+            job.fail(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        }
+    }
+
+    /**
+     * Duplicates writes into two streams; flush goes to both, close to neither.
+     */
+    private static final class TeeOutputStream extends OutputStream {
+
+        private final OutputStream first;
+        private final OutputStream second;
+
+        TeeOutputStream(OutputStream first, OutputStream second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            first.write(b);
+            second.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            first.write(b, off, len);
+            second.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            first.flush();
+            second.flush();
+        }
+    }
+}
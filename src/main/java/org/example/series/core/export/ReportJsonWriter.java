@@ -1,12 +1,15 @@
 package org.example.series.core.export;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
 import org.example.series.core.model.Series;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
 
 /**
  * ReportJsonWriter
@@ -15,63 +18,159 @@ import java.util.List;
  * into JSON format.
  *
  * Responsibilities:
- * - Serialize domain model (Series) into JSON structure
- * - Support Java 8+ Date/Time API (LocalDateTime, etc.)
- * - Handle Hibernate lazy proxies safely
- * - Produce pretty-printed JSON output
+ * - Write flat report rows (no nested entities) with Jackson streaming API
+ * - Support JSON array output (optionally pretty-printed)
+ * - Support NDJSON output (one object per line) for incremental processing
  *
  * Design notes:
  * - Stateless utility class
  * - No dependency on Spring
- * - Uses dedicated ObjectMapper instance
- * - Configured to support Hibernate 6 (Spring Boot 3 / Jakarta)
+ * - Uses JsonGenerator directly: no entity/proxy introspection, no ObjectMapper
+ * - Rows are written as they are read, memory does not depend on report size
  *
- * WARNING:
- * This writer serializes Entity directly.
- * For strict architectural isolation, consider using DTO projection.
+ * Row structure:
+ * {
+ *   "id": ..., "title": "...", "genre": "...", "seasons": ..., "rating": ...,
+ *   "year": ..., "finished": ..., "studioId": ..., "studio": "..."
+ * }
  */
 /**
- * Writes report data to JSON format.
+ * Writes report data to JSON / NDJSON format.
  */
 public class ReportJsonWriter {
 
     /**
-     * Dedicated ObjectMapper configured for:
-     * - JavaTime support (LocalDateTime, etc.)
-     * - Hibernate proxy handling
-     * - ISO date formatting (not timestamps)
+     * Thread-safe and reusable, creates lightweight generators.
+     * The caller owns the target stream (e.g. servlet response), so it is not closed.
      */
-    private static final ObjectMapper mapper = new ObjectMapper()
-            // Support for Java time API
-            .registerModule(new JavaTimeModule())
+    private static final JsonFactory FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
 
-            // Support for Hibernate 6 proxies (Jakarta namespace)
-            .registerModule(new Hibernate6Module())
+    /**
+     * Streams Series as a JSON array into the given output stream.
+     *
+     * @param series stream of Series entities (consumed once)
+     * @param out    target stream (flushed, not closed)
+     * @param pretty whether to indent the output
+     */
+    public static void write(Stream<Series> series, OutputStream out, boolean pretty) {
+        try (ReportRowWriter writer = open(out, pretty)) {
+            for (Series s : (Iterable<Series>) series::iterator) {
+                writer.write(s);
+            }
+            writer.finish();
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write JSON report", e);
+        }
+    }
+
+    /**
+     * Streams Series as NDJSON (newline-delimited JSON): one compact object per line,
+     * so clients can process rows before the download completes.
+     *
+     * @param series stream of Series entities (consumed once)
+     * @param out    target stream (flushed, not closed)
+     */
+    public static void writeNdjson(Stream<Series> series, OutputStream out) {
+        try (ReportRowWriter writer = openNdjson(out)) {
+            for (Series s : (Iterable<Series>) series::iterator) {
+                writer.write(s);
+            }
+            writer.finish();
 
-            // Serialize dates as ISO-8601 strings instead of timestamps
-            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write NDJSON report", e);
+        }
+    }
 
     /**
-     * Converts list of Series into JSON byte array.
-     * JSON structure:
-     * [
-     *   {
-     *     "id": ...,
-     *     "title": "...",
-     *     "seasons": ...,
-     *     ...
-     *   }
-     * ]
+     * Opens a row writer producing a JSON array.
      *
-     * @param list list of Series entities
-     * @return pretty-printed JSON as byte array
+     * @param out    target stream (flushed by finish, not closed)
+     * @param pretty whether to indent the output
+     * @return row writer
      */
-    public static byte[] write(List<Series> list) {
-        try {
-            return mapper.writerWithDefaultPrettyPrinter()
-                    .writeValueAsBytes(list);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to write JSON report", e);
+    public static ReportRowWriter open(OutputStream out, boolean pretty) throws IOException {
+        JsonGenerator gen = FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        if (pretty) {
+            gen.useDefaultPrettyPrinter();
         }
+        gen.writeStartArray();
+
+        return new ReportRowWriter() {
+            @Override
+            public void write(Series series) throws IOException {
+                writeRow(gen, series);
+            }
+
+            @Override
+            public void finish() throws IOException {
+                gen.writeEndArray();
+                gen.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                gen.close();
+            }
+        };
+    }
+
+    /**
+     * Opens a row writer producing NDJSON.
+     *
+     * @param out target stream (flushed by finish, not closed)
+     * @return row writer
+     */
+    public static ReportRowWriter openNdjson(OutputStream out) throws IOException {
+        JsonGenerator gen = FACTORY.createGenerator(out, JsonEncoding.UTF8);
+
+        // rows are separated by the explicit newline only (default separator is a space)
+        gen.setRootValueSeparator(null);
+
+        return new ReportRowWriter() {
+            @Override
+            public void write(Series series) throws IOException {
+                writeRow(gen, series);
+                gen.writeRaw('\n');
+            }
+
+            @Override
+            public void finish() throws IOException {
+                gen.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                gen.close();
+            }
+        };
+    }
+
+    private static void writeRow(JsonGenerator gen, Series s) throws IOException {
+        gen.writeStartObject();
+
+        if (s.getId() != null) {
+            gen.writeNumberField("id", s.getId());
+        } else {
+            gen.writeNullField("id");
+        }
+        gen.writeStringField("title", s.getTitle());
+        gen.writeStringField("genre", s.getGenre());
+        gen.writeNumberField("seasons", s.getSeasons());
+        gen.writeNumberField("rating", s.getRating());
+        gen.writeNumberField("year", s.getYear());
+        gen.writeBooleanField("finished", s.isFinished());
+
+        if (s.getStudio() != null && s.getStudio().getId() != null) {
+            gen.writeNumberField("studioId", s.getStudio().getId());
+        } else {
+            gen.writeNullField("studioId");
+        }
+        gen.writeStringField("studio", s.getStudio() == null ? null : s.getStudio().getName());
+
+        gen.writeEndObject();
     }
 }
@@ -0,0 +1,193 @@
+package org.example.series.core.export;
+
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Types;
+import org.example.series.core.model.Series;
+import org.example.series.core.model.Studio;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+/**
+ * ReportParquetWriter
+ *
+ * Responsible for exporting Series entities into Apache Parquet, a compressed columnar
+ * format that analytics engines (Spark, DuckDB, pandas / pyarrow, ...) read directly.
+ *
+ * Responsibilities:
+ * - Map Series to the flat report schema and hand the rows to parquet-hadoop's {@link ParquetWriter}
+ * - Dictionary-encode text columns, GZIP-compress every page
+ *
+ * Design notes:
+ * - Stateless utility class, no Spring dependency
+ * - The file is written to any OutputStream through a small {@link OutputFile} adapter,
+ *   no Hadoop file system is involved
+ * - A row group is buffered in memory until it reaches {@code rowGroupSize} bytes,
+ *   memory depends on the row group size, not on the report size
+ *
+ * Columns: id, title, genre, seasons, rating, year, finished, studio_id, studio
+ */
+public class ReportParquetWriter {
+
+    /** Default row group size in bytes (buffered in memory while a row group is written). */
+    public static final int DEFAULT_ROW_GROUP_SIZE = 8 * 1024 * 1024;
+
+    static final MessageType SCHEMA = Types.buildMessage()
+            .optional(PrimitiveTypeName.INT64).named("id")
+            .optional(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named("title")
+            .optional(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named("genre")
+            .required(PrimitiveTypeName.INT32).named("seasons")
+            .required(PrimitiveTypeName.DOUBLE).named("rating")
+            .required(PrimitiveTypeName.INT32).named("year")
+            .required(PrimitiveTypeName.BOOLEAN).named("finished")
+            .optional(PrimitiveTypeName.INT64).named("studio_id")
+            .optional(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named("studio")
+            .named("series");
+
+    /**
+     * Streams Series as a Parquet file into the given output stream.
+     *
+     * @param series       stream of Series entities (consumed once)
+     * @param out          target stream (flushed, not closed)
+     * @param rowGroupSize row group size in bytes
+     */
+    public static void write(Stream<Series> series, OutputStream out, int rowGroupSize) {
+        try (ReportRowWriter writer = open(out, rowGroupSize)) {
+            for (Series s : (Iterable<Series>) series::iterator) {
+                writer.write(s);
+            }
+            writer.finish();
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write Parquet report", e);
+        }
+    }
+
+    /**
+     * Opens a row writer producing a Parquet file. The footer is written by finish.
+     *
+     * @param out          target stream (flushed by finish, not closed)
+     * @param rowGroupSize row group size in bytes
+     * @return row writer
+     */
+    public static ReportRowWriter open(OutputStream out, int rowGroupSize) throws IOException {
+        ParquetWriter<Group> writer = ExampleParquetWriter.builder(new StreamOutputFile(out))
+                .withType(SCHEMA)
+                .withCompressionCodec(CompressionCodecName.GZIP)
+                .withDictionaryEncoding(true)
+                .withRowGroupSize(Math.max(1, rowGroupSize))
+                .build();
+        return new RowWriter(writer, out);
+    }
+
+    private static final class RowWriter implements ReportRowWriter {
+
+        private final ParquetWriter<Group> writer;
+        private final OutputStream out;
+        private final SimpleGroupFactory rows = new SimpleGroupFactory(SCHEMA);
+
+        RowWriter(ParquetWriter<Group> writer, OutputStream out) {
+            this.writer = writer;
+            this.out = out;
+        }
+
+        @Override
+        public void write(Series series) throws IOException {
+            Group row = rows.newGroup();
+            if (series.getId() != null) {
+                row.append("id", series.getId());
+            }
+            if (series.getTitle() != null) {
+                row.append("title", series.getTitle());
+            }
+            if (series.getGenre() != null) {
+                row.append("genre", series.getGenre());
+            }
+            row.append("seasons", series.getSeasons());
+            row.append("rating", series.getRating());
+            row.append("year", series.getYear());
+            row.append("finished", series.isFinished());
+            Studio studio = series.getStudio();
+            if (studio != null && studio.getId() != null) {
+                row.append("studio_id", studio.getId());
+            }
+            if (studio != null && studio.getName() != null) {
+                row.append("studio", studio.getName());
+            }
+            writer.write(row);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            // writes the last row group and the footer
+            writer.close();
+            out.flush();
+        }
+    }
+
+    /**
+     * Parquet output file over a stream owned by the caller: tracks the position, never closes the stream.
+     */
+    private record StreamOutputFile(OutputStream target) implements OutputFile {
+
+        @Override
+        public PositionOutputStream create(long blockSizeHint) {
+            return new PositionOutputStream() {
+                private long position;
+
+                @Override
+                public long getPos() {
+                    return position;
+                }
+
+                @Override
+                public void write(int b) throws IOException {
+                    target.write(b);
+                    position++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    target.write(b, off, len);
+                    position += len;
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    target.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    target.flush();
+                }
+            };
+        }
+
+        @Override
+        public PositionOutputStream createOrOverwrite(long blockSizeHint) {
+            return create(blockSizeHint);
+        }
+
+        @Override
+        public boolean supportsBlockSize() {
+            return false;
+        }
+
+        @Override
+        public long defaultBlockSize() {
+            return 0;
+        }
+    }
+}
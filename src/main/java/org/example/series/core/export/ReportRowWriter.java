@@ -0,0 +1,26 @@
+package org.example.series.core.export;
+
+import org.example.series.core.model.Series;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Push-style report writer: rows are handed over one at a time,
+ * so a single database scan can feed several writers (formats, partitions) at once.
+ *
+ * Usage: {@code write} every row, then {@code finish}, then {@code close}.
+ * The target stream is flushed by {@code finish} but never closed.
+ */
+public interface ReportRowWriter extends Closeable {
+
+    void write(Series series) throws IOException;
+
+    /** Writes trailing content (closing brackets, workbook structure) and flushes the target. */
+    void finish() throws IOException;
+
+    /** Releases writer resources such as temp files; safe to call after a failure. */
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -1,27 +1,343 @@
 package org.example.series.core.export;
 
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-
-
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
 /**
- * In-memory store for reports.
+ * Disk-backed store for generated reports.
+ *
+ * Report files are written to a spool directory; only metadata and a small LRU set
+ * of recently used small reports are kept in memory. Entries expire after a TTL and the
+ * least recently used ones are evicted when the spool exceeds its size cap.
+ * Leftover files from a previous run are removed on startup.
+ *
+ * Text reports (CSV, JSON, NDJSON) also get a precompressed gzip variant next to the
+ * original file, so clients accepting gzip download far fewer bytes without the server
+ * compressing the same file on every request.
  */
 @Component
-
 public class ReportStore {
 
-    public record ReportResult(byte[] data, String filename, String contentType) {}
+    /**
+     * Stored report. {@code data} is set only when the report is in the in-memory hot set,
+     * {@code gzipPath} only when a precompressed variant exists.
+     */
+    public record ReportResult(String jobId,
+                               Path path,
+                               long size,
+                               Path gzipPath,
+                               String filename,
+                               String contentType,
+                               Instant createdAt,
+                               byte[] data) {
+
+        /** @return report content, served from memory if cached, otherwise from the spool file */
+        public Resource resource() {
+            return data != null ? new ByteArrayResource(data) : new FileSystemResource(path);
+        }
+    }
+
+    /**
+     * Writes report content. Runtime exceptions (e.g. cancellation) are propagated
+     * after the partial file has been removed.
+     */
+    @FunctionalInterface
+    public interface ReportWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static final String FILE_SUFFIX = ".report";
+    private static final String GZIP_SUFFIX = ".gz";
+    private static final String PART_SUFFIX = ".part";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path dir;
+    private final Duration ttl;
+    private final long maxBytes;
+    private final int hotEntries;
+    private final long hotMaxBytes;
+    private final boolean precompress;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    /** Access-ordered, guarded by itself. */
+    private final LinkedHashMap<String, byte[]> hot = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            return size() > hotEntries;
+        }
+    };
+
+    /**
+     * @param dir         spool directory (dedicated to reports, cleared on startup)
+     * @param ttl         how long a finished report is kept
+     * @param maxBytes    total size of spooled reports before LRU eviction kicks in
+     * @param hotEntries  max number of reports cached in memory
+     * @param hotMaxBytes max size of a single report cached in memory
+     * @param precompress whether to store gzip variants of text reports
+     */
+    public ReportStore(@Value("${app.report.store.dir:${java.io.tmpdir}/series-reports}") String dir,
+                       @Value("${app.report.store.ttl:1h}") Duration ttl,
+                       @Value("${app.report.store.max-size:1GB}") DataSize maxBytes,
+                       @Value("${app.report.store.hot-entries:16}") int hotEntries,
+                       @Value("${app.report.store.hot-max-size:256KB}") DataSize hotMaxBytes,
+                       @Value("${app.report.store.precompress:true}") boolean precompress) {
+        this.dir = Path.of(dir);
+        this.ttl = ttl;
+        this.maxBytes = maxBytes.toBytes();
+        this.hotEntries = hotEntries;
+        this.hotMaxBytes = hotMaxBytes.toBytes();
+        this.precompress = precompress;
+    }
+
+    /**
+     * Creates the spool directory and removes files left over from a previous run
+     * (their metadata is lost on restart, so they can never be downloaded).
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            Files.createDirectories(dir);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*{" + FILE_SUFFIX + "," + GZIP_SUFFIX + "," + PART_SUFFIX + "}")) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to prepare report directory " + dir, e);
+        }
+    }
+
+    /**
+     * Writes a report into the spool directory. The file becomes visible only
+     * after it has been written completely.
+     *
+     * @param jobId       report job id
+     * @param filename    download file name
+     * @param contentType download content type
+     * @param writer      report content writer
+     * @return stored report
+     */
+    public ReportResult put(String jobId, String filename, String contentType, ReportWriter writer) {
+        Path part = dir.resolve(jobId + PART_SUFFIX);
+        Path file = dir.resolve(jobId + FILE_SUFFIX);
+
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), BUFFER_SIZE)) {
+                writer.write(out);
+            }
+            Files.move(part, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            long size = Files.size(file);
+            byte[] data = size <= hotMaxBytes ? Files.readAllBytes(file) : null;
+
+            Path gzip = precompress && isCompressible(contentType) ? compress(file, size) : null;
+
+            Entry entry = new Entry(jobId, file, size, gzip, gzip == null ? 0 : Files.size(gzip), filename, contentType);
+            Entry previous = entries.put(jobId, entry);
+            totalBytes.addAndGet(previous == null ? entry.diskBytes() : entry.diskBytes() - previous.diskBytes());
+            if (data != null) {
+                synchronized (hot) {
+                    hot.put(jobId, data);
+                }
+            }
 
-    private final ConcurrentHashMap<String, ReportResult> store = new ConcurrentHashMap<>();
+            evictOverflow(jobId);
 
-    public void put(String jobId, byte[] data, String filename, String contentType) {
-        store.put(jobId, new ReportResult(data, filename, contentType));
+            return toResult(entry, data);
+
+        } catch (IOException e) {
+            deleteQuietly(part);
+            deleteQuietly(file);
+            throw new UncheckedIOException("Failed to store report " + jobId, e);
+        } catch (RuntimeException e) {
+            deleteQuietly(part);
+            deleteQuietly(file);
+            throw e;
+        }
     }
 
+    /**
+     * @param jobId report job id
+     * @return stored report, or null if unknown or already evicted
+     */
     public ReportResult get(String jobId) {
-        return store.get(jobId);
+        Entry entry = entries.get(jobId);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry, Instant.now()) || !Files.exists(entry.path)) {
+            remove(jobId);
+            return null;
+        }
+
+        entry.lastAccess = Instant.now();
+
+        byte[] data;
+        synchronized (hot) {
+            data = hot.get(jobId);
+        }
+        return toResult(entry, data);
+    }
+
+    /**
+     * Removes a report and its file.
+     *
+     * @param jobId report job id
+     */
+    public void remove(String jobId) {
+        Entry entry = entries.remove(jobId);
+        if (entry == null) {
+            return;
+        }
+        synchronized (hot) {
+            hot.remove(jobId);
+        }
+        totalBytes.addAndGet(-entry.diskBytes());
+        deleteQuietly(entry.path);
+        if (entry.gzipPath != null) {
+            deleteQuietly(entry.gzipPath);
+        }
+    }
+
+    /**
+     * Periodically removes expired reports.
+     */
+    @Scheduled(fixedDelayString = "${app.report.store.sweep-interval:PT1M}")
+    public void evictExpired() {
+        Instant now = Instant.now();
+        for (Entry entry : entries.values()) {
+            if (isExpired(entry, now)) {
+                remove(entry.jobId);
+            }
+        }
+    }
+
+    /** @return how long a finished report is kept */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /** @return total size of spooled reports (including gzip variants) in bytes */
+    public long totalBytes() {
+        return totalBytes.get();
+    }
+
+    /**
+     * Evicts least recently used reports until the spool fits into the size cap.
+     * The report just written is always kept, even if it alone exceeds the cap.
+     */
+    private synchronized void evictOverflow(String keepJobId) {
+        if (totalBytes.get() <= maxBytes) {
+            return;
+        }
+
+        List<Entry> lru = new ArrayList<>(entries.values());
+        lru.sort(Comparator.comparing((Entry e) -> e.lastAccess));
+
+        for (Entry entry : lru) {
+            if (totalBytes.get() <= maxBytes) {
+                break;
+            }
+            if (!entry.jobId.equals(keepJobId)) {
+                remove(entry.jobId);
+            }
+        }
+    }
+
+    /**
+     * Writes a gzip copy of the report.
+     *
+     * @return gzip file, or null if compression does not make the report smaller
+     */
+    private static Path compress(Path file, long size) throws IOException {
+        Path gzip = file.resolveSibling(file.getFileName() + GZIP_SUFFIX);
+        Path part = gzip.resolveSibling(gzip.getFileName() + PART_SUFFIX);
+
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(part), BUFFER_SIZE)) {
+            Files.copy(file, out);
+        } catch (IOException e) {
+            deleteQuietly(part);
+            throw e;
+        }
+
+        if (Files.size(part) >= size) {
+            deleteQuietly(part);
+            return null;
+        }
+        return Files.move(part, gzip, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static boolean isCompressible(String contentType) {
+        return contentType != null && (contentType.startsWith("text/") || contentType.contains("json"));
+    }
+
+    private boolean isExpired(Entry entry, Instant now) {
+        return entry.createdAt.plus(ttl).isBefore(now);
+    }
+
+    private static ReportResult toResult(Entry entry, byte[] data) {
+        return new ReportResult(entry.jobId, entry.path, entry.size, entry.gzipPath, entry.filename,
+                entry.contentType, entry.createdAt, data);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // picked up by the startup cleanup
+        }
+    }
+
+    private static final class Entry {
+        final String jobId;
+        final Path path;
+        final long size;
+        final Path gzipPath;
+        final long gzipSize;
+        final String filename;
+        final String contentType;
+        final Instant createdAt = Instant.now();
+        volatile Instant lastAccess = createdAt;
+
+        Entry(String jobId, Path path, long size, Path gzipPath, long gzipSize, String filename, String contentType) {
+            this.jobId = jobId;
+            this.path = path;
+            this.size = size;
+            this.gzipPath = gzipPath;
+            this.gzipSize = gzipSize;
+            this.filename = filename;
+            this.contentType = contentType;
+        }
+
+        long diskBytes() {
+            return size + gzipSize;
+        }
     }
 }
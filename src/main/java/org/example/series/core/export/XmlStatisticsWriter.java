@@ -1,21 +1,18 @@
 package org.example.series.core.export;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.example.series.core.model.Series;
-
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
 
 /**
  * Utility class responsible for exporting aggregated statistics
- * into an XML file.
+ * into XML.
  *
  * The generated XML structure has the following format:
  *
@@ -27,16 +24,19 @@ import java.util.Map;
  *     ...
  * </statistics>
  *
+ * Items are written one by one with a StAX {@link XMLStreamWriter}, so no document tree
+ * is built in memory, even for high-cardinality attributes such as title.
+ *
  * This class contains only static methods and is not intended
  * to be instantiated.
  */
-/**
- * Writes statistics to XML file.
- */
 public class XmlStatisticsWriter {
 
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+    private static final String INDENT = "  ";
+
     /**
-     * Writes statistics data to an XML file.
+     * Writes statistics data to an indented XML file.
      *
      * @param stats      map containing attribute value -> count
      * @param attribute  attribute name used for grouping (e.g. genre, year)
@@ -46,50 +46,76 @@ public class XmlStatisticsWriter {
                              String attribute,
                              Path outputFile) {
 
-        try {
-            Document doc = DocumentBuilderFactory.newInstance()
-                    .newDocumentBuilder()
-                    .newDocument();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(outputFile))) {
+            write(stats, attribute, out, true);
 
-            Element root = doc.createElement("statistics");
-            root.setAttribute("by", attribute);
-            doc.appendChild(root);
+        } catch (IOException | RuntimeException ex) {
+            throw new RuntimeException(
+                    "Failed to write XML: " + outputFile,
+                    ex
+            );
+        }
+    }
 
-            for (Map.Entry<String, Long> entry : stats.entrySet()) {
+    /**
+     * Streams statistics data as XML into the given output stream.
+     *
+     * @param stats     map containing attribute value -> count
+     * @param attribute attribute name used for grouping (e.g. genre, year)
+     * @param out       target stream (flushed, not closed)
+     * @param indent    whether to indent nested elements by two spaces
+     */
+    public static void write(Map<String, Long> stats,
+                             String attribute,
+                             OutputStream out,
+                             boolean indent) {
+
+        try {
+            XMLStreamWriter xml = OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
 
-                Element item = doc.createElement("item");
+            xml.writeStartDocument("UTF-8", "1.0");
+            newLine(xml, indent, 0);
 
-                Element value = doc.createElement("value");
-                value.setTextContent(entry.getKey());
+            xml.writeStartElement("statistics");
+            xml.writeAttribute("by", attribute);
 
-                Element count = doc.createElement("count");
-                count.setTextContent(String.valueOf(entry.getValue()));
+            for (Map.Entry<String, Long> entry : stats.entrySet()) {
+                newLine(xml, indent, 1);
+                xml.writeStartElement("item");
+
+                newLine(xml, indent, 2);
+                xml.writeStartElement("value");
+                xml.writeCharacters(entry.getKey() == null ? "" : entry.getKey());
+                xml.writeEndElement();
 
-                item.appendChild(value);
-                item.appendChild(count);
+                newLine(xml, indent, 2);
+                xml.writeStartElement("count");
+                xml.writeCharacters(String.valueOf(entry.getValue()));
+                xml.writeEndElement();
 
-                root.appendChild(item);
+                newLine(xml, indent, 1);
+                xml.writeEndElement();
             }
 
-            Transformer transformer =
-                    TransformerFactory.newInstance().newTransformer();
+            newLine(xml, indent, 0);
+            xml.writeEndElement();
+            xml.writeEndDocument();
 
-            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            transformer.setOutputProperty(
-                    "{http://xml.apache.org/xslt}indent-amount",
-                    "2"
-            );
+            // closes the writer only, the underlying stream stays open
+            xml.close();
+            if (indent) {
+                out.write('\n');
+            }
+            out.flush();
 
-            transformer.transform(
-                    new DOMSource(doc),
-                    new StreamResult(outputFile.toFile())
-            );
+        } catch (XMLStreamException | IOException ex) {
+            throw new RuntimeException("Failed to write XML", ex);
+        }
+    }
 
-        } catch (Exception ex) {
-            throw new RuntimeException(
-                    "Failed to write XML: " + outputFile,
-                    ex
-            );
+    private static void newLine(XMLStreamWriter xml, boolean indent, int depth) throws XMLStreamException {
+        if (indent) {
+            xml.writeCharacters("\n" + INDENT.repeat(depth));
         }
     }
 }
@@ -0,0 +1,231 @@
+package org.example.series.core.loader;
+
+import org.example.series.core.service.CacheInvalidationBus;
+import org.example.series.core.service.DatasetVersion;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Bulk loader writing series straight into Postgres, bypassing Hibernate.
+ *
+ * Rows are streamed with the driver's COPY API into a temporary staging table and merged
+ * into {@code series} with a few set-based statements, all in one transaction:
+ * - studio names are resolved to ids with a single join (case-insensitive, like StudioService.findByName)
+ * - a row matching an existing series (same title, year and studio, unique index) updates it,
+ *   other rows are inserted, with one {@code INSERT ... ON CONFLICT} statement
+ * - when the same series occurs several times in one load, the last row wins
+ * - rows with an unknown studio are skipped and reported
+ *
+ * Rows are expected to be validated by the caller.
+ */
+@Component
+public class SeriesCopyLoader {
+
+    /** One input row; {@code line} identifies it in the report (e.g. the item index in the upload). */
+    public record Row(long line,
+                      String title,
+                      String genre,
+                      int seasons,
+                      double rating,
+                      int year,
+                      boolean finished,
+                      String studioName) {}
+
+    /** Row skipped because its studio does not exist. */
+    public record Rejected(long line, String studioName) {}
+
+    /**
+     * @param staged   rows copied into the staging table
+     * @param inserted new series
+     * @param updated  existing series overwritten
+     * @param rejected number of rows with an unknown studio
+     * @param examples first rejected rows, ordered by line
+     */
+    public record Result(long staged, long inserted, long updated, long rejected, List<Rejected> examples) {}
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE series_staging (
+                line        BIGINT NOT NULL,
+                title       VARCHAR(255),
+                genre       VARCHAR(255),
+                seasons     INT,
+                rating      DOUBLE PRECISION,
+                year        INT,
+                finished    BOOLEAN,
+                studio_name VARCHAR(255)
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_STAGING = """
+            COPY series_staging (line, title, genre, seasons, rating, year, finished, studio_name)
+            FROM STDIN WITH (FORMAT csv)""";
+
+    private static final String RESOLVE = """
+            CREATE TEMP TABLE series_resolved ON COMMIT DROP AS
+            SELECT DISTINCT ON (s.title, s.year, st.id)
+                   s.title, s.genre, s.seasons, s.rating, s.year, s.finished, st.id AS studio_id
+            FROM series_staging s
+            JOIN studios st ON upper(st.name) = upper(s.studio_name)
+            ORDER BY s.title, s.year, st.id, s.line DESC""";
+
+    // ids and versions come from the column defaults (series_next_id(), 0); xmax is 0 only for freshly inserted rows
+    private static final String UPSERT = """
+            WITH upserted AS (
+                INSERT INTO series (title, genre, seasons, rating, year, finished, studio_id)
+                SELECT r.title, r.genre, r.seasons, r.rating, r.year, r.finished, r.studio_id
+                FROM series_resolved r
+                ON CONFLICT (title, year, studio_id) DO UPDATE
+                SET genre = EXCLUDED.genre, seasons = EXCLUDED.seasons,
+                    rating = EXCLUDED.rating, finished = EXCLUDED.finished,
+                    version = series.version + 1
+                RETURNING (xmax = 0) AS inserted)
+            SELECT count(*) FILTER (WHERE inserted), count(*) FILTER (WHERE NOT inserted)
+            FROM upserted""";
+
+    private static final String FIND_REJECTED = """
+            SELECT s.line, s.studio_name
+            FROM series_staging s
+            WHERE NOT EXISTS (SELECT 1 FROM studios st WHERE upper(st.name) = upper(s.studio_name))
+            ORDER BY s.line""";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataSource dataSource;
+    private final DatasetVersion datasetVersion;
+    private final CacheInvalidationBus invalidation;
+
+    public SeriesCopyLoader(DataSource dataSource, DatasetVersion datasetVersion, CacheInvalidationBus invalidation) {
+        this.dataSource = dataSource;
+        this.datasetVersion = datasetVersion;
+        this.invalidation = invalidation;
+    }
+
+    /**
+     * Loads the rows in one transaction. Nothing is written if any statement fails.
+     *
+     * @param rows        validated rows (consumed once)
+     * @param maxExamples how many rejected rows to return in {@link Result#examples()}
+     * @return load summary
+     */
+    public Result load(Stream<Row> rows, int maxExamples) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+
+            try {
+                Result result = load(connection, rows.iterator(), maxExamples);
+                connection.commit();
+
+                invalidation.allSeriesChanged();
+                datasetVersion.bump();
+                return result;
+
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Bulk load failed: " + e.getMessage(), e);
+        }
+    }
+
+    private Result load(Connection connection, Iterator<Row> rows, int maxExamples)
+            throws SQLException, IOException {
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING);
+        }
+
+        long staged = copy(connection, rows);
+
+        long inserted;
+        long updated;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(RESOLVE);
+            // temp tables are not analyzed automatically, the planner needs row estimates for the joins
+            statement.execute("ANALYZE series_resolved");
+
+            try (ResultSet rs = statement.executeQuery(UPSERT)) {
+                rs.next();
+                inserted = rs.getLong(1);
+                updated = rs.getLong(2);
+            }
+        }
+
+        long rejected = 0;
+        List<Rejected> examples = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(FIND_REJECTED)) {
+            while (rs.next()) {
+                if (rejected++ < maxExamples) {
+                    examples.add(new Rejected(rs.getLong(1), rs.getString(2)));
+                }
+            }
+        }
+
+        return new Result(staged, inserted, updated, rejected, examples);
+    }
+
+    /** Streams the rows as CSV into the staging table. */
+    private static long copy(Connection connection, Iterator<Row> rows) throws SQLException, IOException {
+        PGCopyOutputStream out = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_STAGING, BUFFER_SIZE);
+
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            while (rows.hasNext()) {
+                Row row = rows.next();
+                writer.write(Long.toString(row.line()));
+                writer.write(',');
+                writeText(writer, row.title());
+                writer.write(',');
+                writeText(writer, row.genre());
+                writer.write(',');
+                writer.write(Integer.toString(row.seasons()));
+                writer.write(',');
+                writer.write(Double.toString(row.rating()));
+                writer.write(',');
+                writer.write(Integer.toString(row.year()));
+                writer.write(',');
+                writer.write(Boolean.toString(row.finished()));
+                writer.write(',');
+                writeText(writer, row.studioName());
+                writer.write('\n');
+            }
+            writer.flush();
+            return out.endCopy();
+
+        } finally {
+            if (out.isActive()) {
+                out.cancelCopy();
+            }
+        }
+    }
+
+    /** Quoted CSV value; null stays an unquoted empty field, which COPY reads as NULL. */
+    private static void writeText(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
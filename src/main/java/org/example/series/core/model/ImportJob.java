@@ -0,0 +1,120 @@
+package org.example.series.core.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity representing an asynchronous import (JSON, CSV or XLSX file).
+ *
+ * {@code processed}, {@code succeeded}, {@code failed}, {@code inserted}, {@code updated} and
+ * {@code errorLogSize} form the checkpoint:
+ * they are written in the transaction of each imported batch, so after a crash the job resumes
+ * right after the last committed item. Status transitions: QUEUED -> RUNNING -> DONE | FAILED
+ * (RUNNING -> QUEUED when an interrupted job is picked up again).
+ */
+@Entity
+@Table(name = "import_jobs")
+public class ImportJob {
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    /** INSERT: every item is a new series (duplicates fail); UPSERT: items overwrite series with the same key. */
+    public enum Mode { INSERT, UPSERT }
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    private String filename;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Mode mode;
+
+    /** File format name (JSON, CSV, XLSX), see ImportFormat. */
+    @Column(nullable = false, length = 8)
+    private String format;
+
+    @Column(name = "file_size", nullable = false)
+    private long fileSize;
+
+    @Column(nullable = false)
+    private long processed;
+
+    @Column(nullable = false)
+    private long succeeded;
+
+    @Column(nullable = false)
+    private long failed;
+
+    @Column(nullable = false)
+    private long inserted;
+
+    @Column(nullable = false)
+    private long updated;
+
+    @Column(name = "error_log_size", nullable = false)
+    private long errorLogSize;
+
+    /** Items already processed when the current run started, for the rate of this run. */
+    @Column(name = "resumed_from", nullable = false)
+    private long resumedFrom;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public ImportJob() {}
+
+    public ImportJob(String id, String filename, Mode mode, String format, long fileSize) {
+        this.id = id;
+        this.filename = filename;
+        this.mode = mode;
+        this.format = format;
+        this.fileSize = fileSize;
+        this.status = Status.QUEUED;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public boolean isFinished() {
+        return status == Status.DONE || status == Status.FAILED;
+    }
+
+    public String getId() { return id; }
+    public String getFilename() { return filename; }
+    public Status getStatus() { return status; }
+    public Mode getMode() { return mode; }
+    public String getFormat() { return format; }
+    public long getFileSize() { return fileSize; }
+    public long getProcessed() { return processed; }
+    public long getSucceeded() { return succeeded; }
+    public long getFailed() { return failed; }
+    public long getInserted() { return inserted; }
+    public long getUpdated() { return updated; }
+    public long getErrorLogSize() { return errorLogSize; }
+    public long getResumedFrom() { return resumedFrom; }
+    public int getAttempts() { return attempts; }
+    public String getError() { return error; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+}
@@ -8,12 +8,18 @@ import jakarta.persistence.*;
  * JPA entity representing a TV series.
  */
 @Entity
-@Table(name = "series")
+@Table(
+        name = "series",
+        uniqueConstraints = @UniqueConstraint(name = "uq_series_title_year_studio",
+                columnNames = {"title", "year", "studio_id"})
+)
 
 public class Series {
 
+    /** Pooled sequence ids (see 007-series-id-sequence.yaml and 013-series-id-default.yaml), so inserts can be batched. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "series_seq")
+    @SequenceGenerator(name = "series_seq", sequenceName = "series_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -38,6 +44,11 @@ public class Series {
     @Column(nullable = false)
     private boolean finished;
 
+    /** Optimistic locking; also the entity tag of the series API. */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     public Series() {}
 
     public Series(String title,
@@ -57,6 +68,7 @@ public class Series {
     }
 
     public Long getId() { return id; }
+    public long getVersion() { return version; }
 
     public Studio getStudio() { return studio; }
     public void setStudio(Studio studio) { this.studio = studio; }
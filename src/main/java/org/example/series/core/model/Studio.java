@@ -26,6 +26,11 @@ public class Studio {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    /** Optimistic locking of concurrent studio updates. */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @OneToMany(mappedBy = "studio")
     private List<Series> series;
 
@@ -48,6 +53,7 @@ public class Studio {
     }
 
     public Long getId() { return id; }
+    public long getVersion() { return version; }
     public String getName() { return name; }
     public String getCountry() { return country; }
     public LocalDateTime getCreatedAt() { return createdAt; }
@@ -0,0 +1,78 @@
+package org.example.series.core.repository;
+
+import org.example.series.core.model.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for import job entity.
+ * State changes are single UPDATE statements, so the checkpoint written by the import writer
+ * and the status changes never overwrite each other.
+ */
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+
+    List<ImportJob> findByStatusIn(Collection<ImportJob.Status> statuses);
+
+    List<ImportJob> findByFinishedAtBefore(LocalDateTime threshold);
+
+    /**
+     * Records the progress of a job; joins the transaction of the imported batch.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update ImportJob j
+            set j.processed = :processed, j.succeeded = :succeeded, j.failed = :failed,
+                j.inserted = :inserted, j.updated = :updated, j.errorLogSize = :errorLogSize
+            where j.id = :id""")
+    int checkpoint(@Param("id") String id,
+                   @Param("processed") long processed,
+                   @Param("succeeded") long succeeded,
+                   @Param("failed") long failed,
+                   @Param("inserted") long inserted,
+                   @Param("updated") long updated,
+                   @Param("errorLogSize") long errorLogSize);
+
+    /**
+     * Claims a queued job for a run.
+     *
+     * @return 1 if the job was queued and is now running, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update ImportJob j
+            set j.status = org.example.series.core.model.ImportJob.Status.RUNNING,
+                j.startedAt = :now, j.resumedFrom = j.processed, j.attempts = j.attempts + 1
+            where j.id = :id and j.status = org.example.series.core.model.ImportJob.Status.QUEUED""")
+    int start(@Param("id") String id, @Param("now") LocalDateTime now);
+
+    /**
+     * Puts an interrupted job back into the queue.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update ImportJob j
+            set j.status = org.example.series.core.model.ImportJob.Status.QUEUED
+            where j.id = :id and j.status = org.example.series.core.model.ImportJob.Status.RUNNING""")
+    int requeue(@Param("id") String id);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update ImportJob j
+            set j.status = :status, j.error = :error, j.finishedAt = :now
+            where j.id = :id""")
+    int finish(@Param("id") String id,
+               @Param("status") ImportJob.Status status,
+               @Param("error") String error,
+               @Param("now") LocalDateTime now);
+}
@@ -1,10 +1,14 @@
 package org.example.series.core.repository;
 
 import org.example.series.core.model.Series;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,10 +16,40 @@ import java.util.Optional;
  * Spring Data JPA repository for series entity.
  */
 public interface SeriesRepository extends JpaRepository<Series, Long>,
-        JpaSpecificationExecutor<Series> {
+        JpaSpecificationExecutor<Series>,
+        SeriesRepositoryCustom {
 
     Optional<Series> findFirstByTitleContainingIgnoreCaseOrderByIdAsc(String title);
 
-    List<Series> findAllByOrderByRatingDesc(Pageable pageable);
+    /** Series with the given ids and their studios, in one {@code IN} query with a join. */
+    @EntityGraph(attributePaths = "studio")
+    List<Series> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Deletes a series with one statement, without loading it first (unlike {@code deleteById}).
+     *
+     * @return rows deleted: 0 if there is no such series
+     */
+    @Modifying
+    @Query("delete from Series s where s.id = :id")
+    int deleteRowById(@Param("id") Long id);
+
+    /**
+     * Conditional delete: only if the series still has one of the given versions.
+     *
+     * @return rows deleted: 0 if there is no such series or its version differs
+     */
+    @Modifying
+    @Query("delete from Series s where s.id = :id and s.version in :versions")
+    int deleteRowByIdAndVersionIn(@Param("id") Long id, @Param("versions") Collection<Long> versions);
+
+    /**
+     * Bumps the version of every series of a studio, whose name and country are part of the series representation.
+     *
+     * @return rows updated
+     */
+    @Modifying
+    @Query("update Series s set s.version = s.version + 1 where s.studio.id = :studioId")
+    int touchByStudioId(@Param("studioId") Long studioId);
 
 }
\ No newline at end of file
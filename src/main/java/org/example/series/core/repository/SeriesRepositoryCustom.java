@@ -0,0 +1,97 @@
+package org.example.series.core.repository;
+
+import org.example.series.core.model.Series;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Custom repository fragment for series queries that Spring Data cannot derive.
+ */
+public interface SeriesRepositoryCustom {
+
+    /**
+     * @param inserted   rows inserted
+     * @param updated    existing rows overwritten
+     * @param duplicates items dropped because a later item of the same batch has the same key
+     */
+    record UpsertResult(int inserted, int updated, int duplicates) {}
+
+    /**
+     * Columns to change with {@link #patch}; null fields keep their current value.
+     */
+    record Patch(String title, String genre, Integer seasons, Double rating,
+                 Integer year, Boolean finished, Long studioId) {
+
+        public boolean isEmpty() {
+            return title == null && genre == null && seasons == null && rating == null
+                    && year == null && finished == null && studioId == null;
+        }
+    }
+
+    /**
+     * Streams series matching the specification row by row (studio is fetch-joined).
+     * Must be consumed inside a transaction and closed afterwards.
+     * Every emitted entity is already detached from the persistence context,
+     * so the session does not grow with the result size.
+     *
+     * @param spec filter specification (may be null)
+     * @param sort sort order
+     * @return lazily populated stream of detached series
+     */
+    Stream<Series> streamAll(Specification<Series> spec, Sort sort);
+
+    /**
+     * Loads one series with its studio in one query with a join. Both are detached from the
+     * persistence context, so they can be shared between requests (series cache).
+     *
+     * @param id series id
+     * @return detached series with its detached studio
+     */
+    Optional<Series> findDetachedWithStudioById(Long id);
+
+    /**
+     * Loads the best rated series with their studios in one query with a join, detached like
+     * {@link #findDetachedWithStudioById(Long)}, so the list can be cached and shared between requests.
+     *
+     * @param n max number of series
+     * @return detached series by rating, highest first
+     */
+    List<Series> findDetachedTopByRating(int n);
+
+    /**
+     * Counts series grouped by an attribute with one {@code GROUP BY} query.
+     * Group keys are formatted like in {@link org.example.series.core.service.StatisticsService#countByAttribute}.
+     *
+     * @param attribute title, studio (name), seasons, rating, year or finished
+     * @return group key -> count
+     * @throws IllegalArgumentException if the attribute is not supported
+     */
+    Map<String, Long> countBy(String attribute);
+
+    /**
+     * Inserts or updates series by their natural key (title, year, studio) with a single
+     * {@code INSERT ... ON CONFLICT DO UPDATE} statement. Items with the same key in one batch
+     * are collapsed first, the last one wins. Runs in the caller's transaction.
+     *
+     * @param batch series with their studio set (a reference is enough)
+     * @return counts of inserted and updated rows
+     */
+    UpsertResult upsertAll(List<Series> batch);
+
+    /**
+     * Updates only the given columns of one series with a single {@code UPDATE} statement,
+     * without loading it first. Runs in the caller's transaction; series already loaded
+     * into the persistence context are not refreshed.
+     *
+     * @param id    series id
+     * @param patch columns to change, at least one
+     * @param guard extra condition the row must match (may be null)
+     * @return rows updated: 0 if there is no such series or it does not match the guard
+     */
+    int patch(Long id, Patch patch, Specification<Series> guard);
+}
@@ -0,0 +1,211 @@
+package org.example.series.core.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.series.core.model.Series;
+import org.example.series.core.model.Studio;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * JPA implementation of {@link SeriesRepositoryCustom}.
+ */
+public class SeriesRepositoryImpl implements SeriesRepositoryCustom {
+
+    /** Rows per upsert statement: 7 parameters each, well below the driver limit of 32767. */
+    private static final int UPSERT_CHUNK = 4096;
+
+    // ids and versions come from the column defaults (series_next_id(), 0); xmax is 0 only for freshly inserted rows
+    private static final String UPSERT = """
+            INSERT INTO series (title, genre, seasons, rating, year, finished, studio_id)
+            VALUES %s
+            ON CONFLICT (title, year, studio_id) DO UPDATE
+            SET genre = EXCLUDED.genre, seasons = EXCLUDED.seasons,
+                rating = EXCLUDED.rating, finished = EXCLUDED.finished,
+                version = series.version + 1
+            RETURNING (xmax = 0)""";
+
+    private record Key(String title, int year, Long studioId) {}
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int fetchSize;
+
+    public SeriesRepositoryImpl(@Value("${app.report.fetch-size:500}") int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Stream<Series> streamAll(Specification<Series> spec, Sort sort) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Series> query = cb.createQuery(Series.class);
+        Root<Series> root = query.from(Series.class);
+
+        // studio is needed by every report row: fetch it in the same query (no N+1)
+        root.fetch("studio", JoinType.INNER);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        // fetch size makes the PostgreSQL driver use a cursor instead of buffering the whole result
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(series -> {
+                    entityManager.detach(series);
+                    return series;
+                });
+    }
+
+    @Override
+    public Optional<Series> findDetachedWithStudioById(Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Series> query = cb.createQuery(Series.class);
+        Root<Series> root = query.from(Series.class);
+        root.fetch("studio", JoinType.INNER);
+        query.where(cb.equal(root.get("id"), id));
+
+        return entityManager.createQuery(query).getResultList().stream()
+                .findFirst()
+                .map(series -> {
+                    // the studio is not detached with the series (no cascade)
+                    entityManager.detach(series);
+                    entityManager.detach(series.getStudio());
+                    return series;
+                });
+    }
+
+    @Override
+    public List<Series> findDetachedTopByRating(int n) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Series> query = cb.createQuery(Series.class);
+        Root<Series> root = query.from(Series.class);
+        root.fetch("studio", JoinType.LEFT);
+        query.orderBy(cb.desc(root.get("rating")));
+
+        List<Series> top = entityManager.createQuery(query).setMaxResults(n).getResultList();
+        for (Series series : top) {
+            // the studio is not detached with the series (no cascade)
+            entityManager.detach(series);
+            if (series.getStudio() != null) {
+                entityManager.detach(series.getStudio());
+            }
+        }
+        return top;
+    }
+
+    @Override
+    public Map<String, Long> countBy(String attribute) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Series> root = query.from(Series.class);
+
+        Path<?> group = switch (attribute) {
+            case "studio" -> root.join("studio", JoinType.INNER).get("name");
+            case "title", "seasons", "rating", "year", "finished" -> root.get(attribute);
+            default -> throw new IllegalArgumentException("Unsupported attribute: " + attribute);
+        };
+        query.multiselect(group, cb.count(root)).groupBy(group);
+
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : entityManager.createQuery(query).getResultList()) {
+            counts.put(String.valueOf(row[0]), (Long) row[1]);
+        }
+        return counts;
+    }
+
+    @Override
+    public UpsertResult upsertAll(List<Series> batch) {
+        // one statement cannot insert and then update the same row, keep the last item per key
+        Map<Key, Series> unique = new LinkedHashMap<>();
+        for (Series series : batch) {
+            Key key = new Key(series.getTitle(), series.getYear(), series.getStudio().getId());
+            unique.remove(key);
+            unique.put(key, series);
+        }
+
+        List<Series> rows = new ArrayList<>(unique.values());
+        int inserted = 0;
+        for (int from = 0; from < rows.size(); from += UPSERT_CHUNK) {
+            List<Series> chunk = rows.subList(from, Math.min(rows.size(), from + UPSERT_CHUNK));
+
+            StringBuilder values = new StringBuilder();
+            for (int i = 0; i < chunk.size(); i++) {
+                int p = i * 7;
+                values.append(i == 0 ? "" : ", ")
+                        .append("(?").append(p + 1).append(", ?").append(p + 2).append(", ?").append(p + 3)
+                        .append(", ?").append(p + 4).append(", ?").append(p + 5).append(", ?").append(p + 6)
+                        .append(", ?").append(p + 7).append(')');
+            }
+
+            var query = entityManager.createNativeQuery(UPSERT.formatted(values));
+            for (int i = 0; i < chunk.size(); i++) {
+                Series series = chunk.get(i);
+                int p = i * 7;
+                query.setParameter(p + 1, series.getTitle());
+                query.setParameter(p + 2, series.getGenre());
+                query.setParameter(p + 3, series.getSeasons());
+                query.setParameter(p + 4, series.getRating());
+                query.setParameter(p + 5, series.getYear());
+                query.setParameter(p + 6, series.isFinished());
+                query.setParameter(p + 7, series.getStudio().getId());
+            }
+
+            for (Object insertedRow : query.getResultList()) {
+                if (Boolean.TRUE.equals(insertedRow)) {
+                    inserted++;
+                }
+            }
+        }
+
+        return new UpsertResult(inserted, rows.size() - inserted, batch.size() - rows.size());
+    }
+
+    @Override
+    public int patch(Long id, Patch patch, Specification<Series> guard) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Series> update = cb.createCriteriaUpdate(Series.class);
+        Root<Series> root = update.from(Series.class);
+
+        if (patch.title() != null) update.set("title", patch.title());
+        if (patch.genre() != null) update.set("genre", patch.genre());
+        if (patch.seasons() != null) update.set("seasons", patch.seasons());
+        if (patch.rating() != null) update.set("rating", patch.rating());
+        if (patch.year() != null) update.set("year", patch.year());
+        if (patch.finished() != null) update.set("finished", patch.finished());
+        // a reference only carries the id for the FK column, nothing is loaded
+        if (patch.studioId() != null) update.set("studio", entityManager.getReference(Studio.class, patch.studioId()));
+        // bulk updates bypass Hibernate's version check, the version is bumped here for optimistic locking
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+
+        Predicate predicate = cb.equal(root.get("id"), id);
+        Predicate guarded = guard == null ? null : guard.toPredicate(root, null, cb);
+        update.where(guarded == null ? predicate : cb.and(predicate, guarded));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
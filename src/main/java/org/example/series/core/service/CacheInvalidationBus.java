@@ -0,0 +1,377 @@
+package org.example.series.core.service;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the in-process caches ({@link StudioCache}, {@link SeriesCache}, and through {@link DatasetVersion}
+ * the {@link ReadThroughCache} and the report caches) consistent between application nodes sharing one database.
+ *
+ * Writes invalidate the local caches here and publish the change with Postgres {@code NOTIFY} on the channel
+ * {@value #CHANNEL}. Inside a transaction the changes are collected and sent once, just before the commit,
+ * so other nodes get the event only if and when the data is committed. Each node listens on one connection
+ * taken from the pool for as long as it runs, and applies the events of the other nodes: evicts the changed series,
+ * clears everything on studio and set-based writes, and bumps its data set version.
+ *
+ * Notifications are not delivered while the listening connection is down, so:
+ * - after every (re)connect the node clears all its caches
+ * - every event takes a number from {@code cache_version_seq}; the node polls its last value
+ *   ({@code app.cache.invalidation.poll-interval}) and clears all its caches when a number taken before
+ *   the previous poll has still not been received (later ones may still be committing). A transaction rolled
+ *   back after taking its number leaves such a gap too and costs one needless full invalidation.
+ *
+ * Disabled by default ({@code app.cache.invalidation.enabled=false}): a single node only invalidates its
+ * local caches, so no statement is sent per write transaction and no connection is held for listening.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    static final String CHANNEL = "series_cache";
+
+    /** pg_notify payloads are limited to 8000 bytes; longer id lists are sent as "all series". */
+    private static final int MAX_IDS_LENGTH = 7000;
+    private static final int LISTEN_TIMEOUT_MS = 1000;
+
+    private static final String PUBLISH =
+            "SELECT pg_notify('" + CHANNEL + "', ? || v) FROM (SELECT nextval('cache_version_seq') AS v) n";
+    /** number of the last event, 0 before the first one */
+    private static final String LAST_VERSION =
+            "SELECT CASE WHEN is_called THEN last_value ELSE last_value - 1 END FROM cache_version_seq";
+
+    /** Changes of one transaction, sent before it commits. */
+    private static final class Pending {
+        private final Set<Long> seriesIds = new LinkedHashSet<>();
+        private boolean allSeries;
+        private boolean studios;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final DatasetVersion datasetVersion;
+    private final StudioCache studioCache;
+    private final SeriesCache seriesCache;
+    private final boolean enabled;
+    private final Duration reconnectDelay;
+
+    private final String node = UUID.randomUUID().toString();
+
+    /** highest event number received */
+    private final AtomicLong notified = new AtomicLong();
+
+    /**
+     * Event numbers up to {@code covered} were received or covered by a full invalidation (-1 until known),
+     * {@code receivedAbove} holds the ones received after a gap; {@code polled} is the last event number
+     * at the previous poll. Guarded by {@code versions}.
+     */
+    private final Object versions = new Object();
+    private final NavigableSet<Long> receivedAbove = new TreeSet<>();
+    private long covered = -1;
+    private long polled = -1;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile String lastError;
+    private Thread listener;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder fullInvalidations = new LongAdder();
+
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate,
+                                DataSource dataSource,
+                                DatasetVersion datasetVersion,
+                                StudioCache studioCache,
+                                SeriesCache seriesCache,
+                                @Value("${app.cache.invalidation.enabled:false}") boolean enabled,
+                                @Value("${app.cache.invalidation.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.datasetVersion = datasetVersion;
+        this.studioCache = studioCache;
+        this.seriesCache = seriesCache;
+        this.enabled = enabled;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    /**
+     * Series were written: evicts them locally and on the other nodes.
+     *
+     * @param ids changed or deleted series; empty for new series (only derived results change)
+     */
+    public void seriesChanged(Collection<Long> ids) {
+        ids.forEach(seriesCache::evict);
+        publish(pending -> pending.seriesIds.addAll(ids));
+    }
+
+    /**
+     * Series were written by a set-based statement (import): clears the series cache everywhere.
+     */
+    public void allSeriesChanged() {
+        seriesCache.clear();
+        publish(pending -> pending.allSeries = true);
+    }
+
+    /**
+     * Studios were written: clears the studio cache and, as series embed their studio, the series cache everywhere.
+     */
+    public void studiosChanged() {
+        studioCache.invalidate();
+        seriesCache.clear();
+        publish(pending -> pending.studios = true);
+    }
+
+    /**
+     * @return listener state and event counters
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", "invalidation");
+        stats.put("enabled", enabled);
+        stats.put("connected", connected);
+        stats.put("published", published.sum());
+        stats.put("received", received.sum());
+        stats.put("fullInvalidations", fullInvalidations.sum());
+        stats.put("lastVersion", notified.get());
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = listener;
+            listener = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(2L * LISTEN_TIMEOUT_MS);
+        }
+    }
+
+    /**
+     * Fallback for events lost while the listening connection was down: if an event published before
+     * the previous poll has not been received, clears all caches. Events published since then may still
+     * be committing and are checked on the next poll.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.poll-interval:PT30S}")
+    public synchronized void poll() {
+        if (!enabled) {
+            return;
+        }
+        Long current = jdbcTemplate.queryForObject(LAST_VERSION, Long.class);
+        if (current == null) {
+            return;
+        }
+
+        synchronized (versions) {
+            if (covered < 0) {
+                // first poll before the listener connected: the caches are still empty
+                cover(current);
+            } else if (polled > covered) {
+                invalidateAll();
+                cover(polled);
+            }
+            polled = current;
+        }
+    }
+
+    private void publish(Consumer<Pending> change) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Pending pending = new Pending();
+            change.accept(pending);
+            send(pending);
+            return;
+        }
+
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Pending bound = new Pending();
+            pending = bound;
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // same connection as the writes: the notification is delivered on commit
+                    send(bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+                }
+            });
+        }
+        change.accept(pending);
+    }
+
+    private void send(Pending pending) {
+        jdbcTemplate.queryForList(PUBLISH, encode(node, pending.studios, pending.allSeries, pending.seriesIds));
+        published.increment();
+    }
+
+    /**
+     * @return payload without the event number: {@code node;studios (S or empty);ids (comma separated, or *);}
+     */
+    static String encode(String node, boolean studios, boolean allSeries, Collection<Long> ids) {
+        String series = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        if (allSeries || series.length() > MAX_IDS_LENGTH) {
+            series = "*";
+        }
+        return node + ";" + (studios ? "S" : "") + ";" + series + ";";
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try {
+                    long version;
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("LISTEN " + CHANNEL);
+                        try (ResultSet last = statement.executeQuery(LAST_VERSION)) {
+                            last.next();
+                            version = last.getLong(1);
+                        }
+                    }
+                    PGConnection pg = connection.unwrap(PGConnection.class);
+                    connected = true;
+                    // events committed before LISTEN are lost, later ones are delivered
+                    synchronized (versions) {
+                        invalidateAll();
+                        cover(version);
+                    }
+
+                    while (running) {
+                        PGNotification[] notifications = pg.getNotifications(LISTEN_TIMEOUT_MS);
+                        if (notifications != null) {
+                            for (PGNotification notification : notifications) {
+                                receive(notification.getParameter());
+                            }
+                        }
+                    }
+                } finally {
+                    unlisten(connection);
+                }
+            } catch (SQLException | RuntimeException e) {
+                lastError = e.getMessage();
+            } finally {
+                connected = false;
+            }
+
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /** The connection goes back to the pool: it must not keep collecting notifications there. */
+    private static void unlisten(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UNLISTEN *");
+        } catch (SQLException ignored) {
+            // a broken connection is not reused by the pool
+        }
+    }
+
+    void receive(String payload) {
+        String[] parts = payload.split(";", -1);
+        if (parts.length != 4 || !parts[3].matches("\\d+")) {
+            return;
+        }
+        received.increment();
+        long version = Long.parseLong(parts[3]);
+        notified.accumulateAndGet(version, Math::max);
+        synchronized (versions) {
+            if (version > covered) {
+                receivedAbove.add(version);
+                advance();
+            }
+        }
+        if (parts[0].equals(node)) {
+            return;
+        }
+
+        if (!parts[1].isEmpty()) {
+            studioCache.invalidate();
+            seriesCache.clear();
+        } else if (parts[2].equals("*")) {
+            seriesCache.clear();
+        } else if (!parts[2].isEmpty()) {
+            for (String id : parts[2].split(",")) {
+                seriesCache.evict(Long.valueOf(id));
+            }
+        }
+        datasetVersion.bump();
+    }
+
+    /** Marks event numbers up to {@code version} as handled. */
+    private void cover(long version) {
+        covered = Math.max(covered, version);
+        receivedAbove.headSet(covered, true).clear();
+        advance();
+    }
+
+    private void advance() {
+        if (covered < 0) {
+            return;
+        }
+        while (receivedAbove.remove(covered + 1)) {
+            covered++;
+        }
+    }
+
+    private void invalidateAll() {
+        studioCache.invalidate();
+        seriesCache.clear();
+        datasetVersion.bump();
+        fullInvalidations.increment();
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.series.core.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * One named in-process cache map with hit / miss counters, used by the application-wide
+ * caches (studios, series).
+ *
+ * Invalidation moves the region to a new generation; a value loaded while an invalidation
+ * happened is not stored, so a read that raced with a write cannot put the old state back.
+ * The region holds at most {@code maxEntries} values; storing one more evicts the least recently used.
+ * Entries are kept in an access-ordered map guarded by its own lock (lookups reorder it).
+ */
+public final class CacheRegion<K, V> {
+
+    private final String name;
+    private final int maxEntries;
+
+    private final LinkedHashMap<K, V> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public CacheRegion(String name, int maxEntries) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() <= CacheRegion.this.maxEntries) {
+                    return false;
+                }
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return cached value, or null (counted as a miss)
+     */
+    public V get(K key) {
+        V value;
+        synchronized (entries) {
+            value = entries.get(key);
+        }
+        (value == null ? misses : hits).increment();
+        return value;
+    }
+
+    /**
+     * Cached value, or the loaded one (stored unless null or invalidated meanwhile).
+     *
+     * @param loader loads the value on a miss; may return null
+     */
+    public V get(K key, Function<K, V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+
+        long loadedIn = generation.get();
+        value = loader.apply(key);
+        if (value != null) {
+            put(key, value, loadedIn);
+        }
+        return value;
+    }
+
+    /**
+     * @return current generation; pass it to {@link #put} for a value loaded afterwards
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a value loaded in the given generation, unless the region was invalidated since.
+     * Evicts the least recently used value when the region is full.
+     */
+    public void put(K key, V value, long loadedIn) {
+        synchronized (entries) {
+            // invalidations move the generation under the same lock
+            if (generation.get() == loadedIn) {
+                entries.put(key, value);
+            }
+        }
+    }
+
+    public void evict(K key) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(key);
+        }
+        invalidations.increment();
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * @return name, size, hits, misses, hitRatio, evictions and invalidations
+     */
+    public Map<String, Object> stats() {
+        long hit = hits.sum();
+        long miss = misses.sum();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("size", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hit);
+        stats.put("misses", miss);
+        stats.put("hitRatio", hit + miss == 0 ? 0.0 : (double) hit / (hit + miss));
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.series.core.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the series data set, incremented on every write to series or studios.
+ * Caches of derived data (e.g. generated reports) include it in their keys,
+ * so entries built from older data are simply never looked up again.
+ */
+@Component
+public class DatasetVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Increments the version after the current transaction commits
+     * (immediately when there is no transaction), so a reader never sees
+     * the new version together with uncommitted data.
+     */
+    public void bump() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.series.core.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of derived read results (top-N, statistics) shared by the API and the web pages.
+ *
+ * An entry is valid while the {@link DatasetVersion} it was computed in is current and its TTL
+ * ({@code app.read-cache.ttl}) has not passed, so every series or studio write invalidates all entries.
+ * At most {@code app.read-cache.max-entries} entries are kept, the least recently used ones are dropped.
+ *
+ * Concurrent misses for the same key and data set version are coalesced: the first caller computes
+ * the value on its own thread, the others wait for it (and get its exception if it fails).
+ * Values must be immutable, they are handed to every caller.
+ */
+@Component
+public class ReadThroughCache {
+
+    private record Entry(long version, long expiresAt, Object value) {}
+
+    private final DatasetVersion datasetVersion;
+    private final boolean enabled;
+    private final long ttlNanos;
+
+    private final Map<String, Entry> entries;
+    private final Map<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ReadThroughCache(DatasetVersion datasetVersion,
+                            @Value("${app.read-cache.enabled:true}") boolean enabled,
+                            @Value("${app.read-cache.ttl:10m}") Duration ttl,
+                            @Value("${app.read-cache.max-entries:1000}") int maxEntries) {
+        this.datasetVersion = datasetVersion;
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+
+        // access order: the eldest entry is the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param key    identifies the result, e.g. {@code "statistics:genre"}
+     * @param loader computes the result on a miss; its exceptions are passed to the caller and not cached
+     * @return cached or computed value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        long version = datasetVersion.current();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.version() == version && System.nanoTime() - entry.expiresAt() < 0) {
+            hits.increment();
+            return (T) entry.value();
+        }
+        misses.increment();
+
+        // a load started for an older version must not be joined
+        String flight = key + "@" + version;
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = loading.putIfAbsent(flight, mine);
+        if (running != null) {
+            coalesced.increment();
+            return (T) await(running);
+        }
+
+        try {
+            T value = loader.get();
+            synchronized (entries) {
+                entries.put(key, new Entry(version, System.nanoTime() + ttlNanos, value));
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(flight, mine);
+        }
+    }
+
+    /**
+     * @return size, hits, misses, hitRatio, coalesced (misses that waited for another caller) and evictions
+     */
+    public Map<String, Object> stats() {
+        long hit = hits.sum();
+        long miss = misses.sum();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", "reads");
+        stats.put("size", size);
+        stats.put("hits", hit);
+        stats.put("misses", miss);
+        stats.put("hitRatio", hit + miss == 0 ? 0.0 : (double) hit / (hit + miss));
+        stats.put("coalesced", coalesced.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.series.core.service;
+
+import org.example.series.core.model.Series;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Application-wide cache of series by id ({@code app.series.cache.enabled}), evicted by the writes
+ * to that series and cleared by set-based writes (imports, studio changes).
+ * Derived results (top-N, statistics) are cached by {@link ReadThroughCache}.
+ *
+ * Cached series are detached entities with their studio loaded and detached as well
+ * (the loader must detach them); callers must only read them.
+ * Writes that load a series (update, bulk) go to the database, not to this cache.
+ */
+@Component
+public class SeriesCache {
+
+    private final boolean enabled;
+    private final CacheRegion<Long, Series> byId;
+
+    public SeriesCache(@Value("${app.series.cache.enabled:true}") boolean enabled,
+                       @Value("${app.series.cache.max-entries:10000}") int maxEntries) {
+        this.enabled = enabled;
+        this.byId = new CacheRegion<>("series.byId", maxEntries);
+    }
+
+    /**
+     * @param loader loads the series with its studio on a miss, both detached
+     * @return cached or loaded series
+     */
+    public Optional<Series> findById(Long id, Function<Long, Optional<Series>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return Optional.ofNullable(byId.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Evicts one series now and again after the current transaction commits
+     * (a read running concurrently with the write may have loaded the old row).
+     */
+    public void evict(Long id) {
+        if (enabled) {
+            afterCommit(() -> byId.evict(id));
+        }
+    }
+
+    /**
+     * Clears the cached series now and again after the current transaction commits.
+     * For writes that change rows without knowing their ids.
+     */
+    public void clear() {
+        if (enabled) {
+            afterCommit(byId::clear);
+        }
+    }
+
+    /**
+     * @return hit / miss statistics of the cache regions
+     */
+    public List<Map<String, Object>> stats() {
+        return List.of(byId.stats());
+    }
+
+    private static void afterCommit(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
@@ -1,18 +1,38 @@
 package org.example.series.core.service;
 
+import org.example.series.api.exception.BulkOperationException;
+import org.example.series.api.exception.ConflictException;
 import org.example.series.api.exception.NotFoundException;
+import org.example.series.api.exception.PreconditionFailedException;
 import org.example.series.core.model.Series;
-import org.example.series.core.model.Studio;
 import org.example.series.core.repository.SeriesRepository;
+import org.example.series.core.repository.SeriesRepositoryCustom;
 import org.example.series.core.repository.StudioRepository;
-import org.springframework.data.domain.PageRequest;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.time.Year;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 
@@ -23,30 +43,118 @@ import java.util.List;
 
 public class SeriesService {
 
+    /**
+     * One write of a bulk request.
+     *
+     * @param type     create, update or delete
+     * @param id       series id (update, delete)
+     * @param series   new values, studio not set (create, update)
+     * @param studioId studio id (create; optional for update)
+     */
+    public record BulkOperation(Type type, Long id, Series series, Long studioId) {
+        public enum Type { CREATE, UPDATE, DELETE }
+    }
+
+    private static final String FINISHED_IN_FUTURE = "Finished series cannot be in the future";
+    private static final String ONGOING_BEFORE_1950 = "Ongoing series cannot start before 1950";
+
     private final SeriesRepository repository;
     private final StudioRepository studioRepository;
+    private final DatasetVersion datasetVersion;
+    private final StudioCache studioCache;
+    private final SeriesCache seriesCache;
+    private final ReadThroughCache readCache;
+    private final CacheInvalidationBus invalidation;
+    private final TransactionTemplate readOnlyTransaction;
 
     public SeriesService(SeriesRepository repository,
-                         StudioRepository studioRepository) {
+                         StudioRepository studioRepository,
+                         DatasetVersion datasetVersion,
+                         StudioCache studioCache,
+                         SeriesCache seriesCache,
+                         ReadThroughCache readCache,
+                         CacheInvalidationBus invalidation,
+                         PlatformTransactionManager transactionManager) {
         this.repository = repository;
         this.studioRepository = studioRepository;
+        this.datasetVersion = datasetVersion;
+        this.studioCache = studioCache;
+        this.seriesCache = seriesCache;
+        this.readCache = readCache;
+        this.invalidation = invalidation;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Transactional
     public Series create(Series series, Long studioId) {
-        Studio studio = studioRepository.findById(studioId)
-                .orElseThrow(() -> new NotFoundException("Studio not found"));
+        Series saved = insert(series, studioId);
+        invalidation.seriesChanged(List.of());
+        datasetVersion.bump();
+        return saved;
+    }
+
+    /**
+     * Inserts a batch of new series in one transaction.
+     * Studios are attached as references (no SELECT per row) and ids come from the pooled
+     * sequence, so Hibernate sends the inserts as JDBC batches on commit.
+     * If any row fails (e.g. an unknown studio id), the whole batch is rolled back.
+     *
+     * @param batch     new series, studio not set
+     * @param studioIds studio id for each series, same order as {@code batch}
+     * @return saved series
+     */
+    @Transactional
+    public List<Series> createAll(List<Series> batch, List<Long> studioIds) {
+        if (batch.size() != studioIds.size()) {
+            throw new IllegalArgumentException("Every series needs a studio id");
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).setStudio(studioRepository.getReferenceById(studioIds.get(i)));
+        }
+
+        List<Series> saved = repository.saveAll(batch);
+        repository.flush();
+        invalidation.seriesChanged(List.of());
+        datasetVersion.bump();
+        return saved;
+    }
 
-        series.setStudio(studio);
-        return repository.save(series);
+    /**
+     * Inserts a batch of series or overwrites the existing ones with the same title, year and studio,
+     * with one set-based statement. Within the batch the last series per key wins.
+     * If any row fails (e.g. an unknown studio id), the whole batch is rolled back.
+     *
+     * @param batch     series, studio not set
+     * @param studioIds studio id for each series, same order as {@code batch}
+     * @return counts of inserted and updated rows
+     */
+    @Transactional
+    public SeriesRepositoryCustom.UpsertResult upsertAll(List<Series> batch, List<Long> studioIds) {
+        if (batch.size() != studioIds.size()) {
+            throw new IllegalArgumentException("Every series needs a studio id");
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).setStudio(studioRepository.getReferenceById(studioIds.get(i)));
+        }
+
+        SeriesRepositoryCustom.UpsertResult result = repository.upsertAll(batch);
+        invalidation.allSeriesChanged();
+        datasetVersion.bump();
+        return result;
     }
 
     public List<Series> findAll() {
         return repository.findAll();
     }
 
+    /**
+     * @return series with its studio, from the series cache when it is there (read only)
+     */
     public Series findById(Long id) {
-        return repository.findById(id)
+        return seriesCache.findById(id, repository::findDetachedWithStudioById)
                 .orElseThrow(() -> new NotFoundException("Series not found"));
     }
 
@@ -57,9 +165,187 @@ public class SeriesService {
 
     @Transactional
     public Series update(Long id, Series updated, Long studioId) {
+        return update(id, updated, studioId, null);
+    }
+
+    /**
+     * Conditional update: the series is overwritten only if its version is one of {@code versions}.
+     * The version is checked again by the {@code UPDATE} itself, so a write committed
+     * in between is detected as well.
+     *
+     * @param versions accepted versions (If-Match), null for an unconditional update
+     * @throws PreconditionFailedException the series has another version
+     */
+    @Transactional
+    public Series update(Long id, Series updated, Long studioId, Collection<Long> versions) {
+        Series existing = repository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Series not found"));
+        if (versions != null && !versions.contains(existing.getVersion())) {
+            throw new PreconditionFailedException("Series has version " + existing.getVersion());
+        }
+
+        Series saved;
+        try {
+            saved = overwrite(existing, updated, studioId);
+        } catch (OptimisticLockingFailureException e) {
+            if (versions == null) {
+                throw e;
+            }
+            throw new PreconditionFailedException("Series was modified concurrently");
+        }
+        invalidation.seriesChanged(List.of(id));
+        datasetVersion.bump();
+        return saved;
+    }
+
+    /**
+     * Deletes a series with a single {@code DELETE} statement; the affected row count tells whether it existed.
+     */
+    @Transactional
+    public void delete(Long id) {
+        delete(id, null);
+    }
+
+    /**
+     * Conditional delete, still a single statement: the version is part of its {@code WHERE} clause.
+     *
+     * @param versions accepted versions (If-Match), null for an unconditional delete
+     * @throws PreconditionFailedException the series has another version
+     */
+    @Transactional
+    public void delete(Long id, Collection<Long> versions) {
+        int deleted = versions == null ? repository.deleteRowById(id)
+                : versions.isEmpty() ? 0
+                : repository.deleteRowByIdAndVersionIn(id, versions);
+
+        if (deleted == 0) {
+            if (versions == null || !repository.existsById(id)) {
+                throw new NotFoundException("Series not found");
+            }
+            throw new PreconditionFailedException("Series was modified");
+        }
+        invalidation.seriesChanged(List.of(id));
+        datasetVersion.bump();
+    }
+
+    /**
+     * Changes only the given columns of a series with one {@code UPDATE} statement, without loading it.
+     *
+     * Rules that need the other column too (a finished series cannot be from the future,
+     * an ongoing one cannot start before 1950) are checked in the statement itself when
+     * only one of {@code year} / {@code finished} is changed, so nothing is read before the write.
+     * The database enforces the studio reference and the natural key.
+     *
+     * @param id    series id
+     * @param patch columns to change; an empty patch only checks that the series exists
+     * @throws NotFoundException        unknown series or studio
+     * @throws ConflictException        another series already has this title, year and studio
+     * @throws IllegalArgumentException the change would break a state rule
+     */
+    @Transactional
+    public void patch(Long id, SeriesRepositoryCustom.Patch patch) {
+        if (patch.isEmpty()) {
+            if (!repository.existsById(id)) {
+                throw new NotFoundException("Series not found");
+            }
+            return;
+        }
+
+        if (patch.year() != null && patch.finished() != null) {
+            String violation = stateViolation(patch.year(), patch.finished());
+            if (violation != null) {
+                throw new IllegalArgumentException(violation);
+            }
+        }
+
+        if (writing(() -> repository.patch(id, patch, stateGuard(patch))) == 0) {
+            // no row: either there is no such series or it failed the guard
+            if (!repository.existsById(id)) {
+                throw new NotFoundException("Series not found");
+            }
+            boolean future = patch.finished() != null ? patch.finished() : patch.year() >= 1950;
+            throw new IllegalArgumentException(future ? FINISHED_IN_FUTURE : ONGOING_BEFORE_1950);
+        }
+        invalidation.seriesChanged(List.of(id));
+        datasetVersion.bump();
+    }
+
+    /**
+     * Runs create, update and delete operations in order, in one transaction, with the same checks as
+     * the single-series methods. Series to update or delete are loaded up front with one {@code IN} query,
+     * so the operations themselves find them in the persistence context.
+     * If an operation fails, nothing is written.
+     *
+     * @param operations operations in request order
+     * @return result per operation: the created or updated series, null for a delete
+     * @throws BulkOperationException if an operation fails (cause: NotFoundException or ConflictException)
+     */
+    @Transactional
+    public List<Series> bulk(List<BulkOperation> operations) {
+        List<Long> ids = operations.stream()
+                .filter(op -> op.type() != BulkOperation.Type.CREATE)
+                .map(BulkOperation::id)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
 
-        Series existing = findById(id);
+        Map<Long, Series> existing = ids.isEmpty()
+                ? new HashMap<>()
+                : repository.findByIdIn(ids).stream().collect(Collectors.toMap(Series::getId, Function.identity()));
 
+        List<Series> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            BulkOperation op = operations.get(i);
+            try {
+                results.add(switch (op.type()) {
+                    case CREATE -> insert(op.series(), op.studioId());
+                    case UPDATE -> overwrite(loaded(existing, op.id()), op.series(), op.studioId());
+                    case DELETE -> {
+                        repository.delete(loaded(existing, op.id()));
+                        existing.remove(op.id());
+                        yield null;
+                    }
+                });
+            } catch (NotFoundException | ConflictException e) {
+                throw new BulkOperationException(i, e);
+            }
+        }
+
+        if (!operations.isEmpty()) {
+            invalidation.seriesChanged(ids);
+            datasetVersion.bump();
+        }
+        return results;
+    }
+
+    /**
+     * @param ids series ids
+     * @return series with these ids (in no particular order) with their studios, in one query
+     */
+    @Transactional(readOnly = true)
+    public List<Series> findAllById(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : repository.findByIdIn(ids);
+    }
+
+    private static Series loaded(Map<Long, Series> existing, Long id) {
+        Series series = existing.get(id);
+        if (series == null) {
+            throw new NotFoundException("Series not found");
+        }
+        return series;
+    }
+
+    // the studio is attached as a reference and the natural key is left to the unique index:
+    // the insert is the only statement, violations are translated from the flush
+    private Series insert(Series series, Long studioId) {
+        if (studioId == null) {
+            throw new NotFoundException("Studio not found");
+        }
+        series.setStudio(studioCache.reference(studioId));
+        return writing(() -> repository.saveAndFlush(series));
+    }
+
+    private Series overwrite(Series existing, Series updated, Long studioId) {
         existing.setTitle(updated.getTitle());
         existing.setGenre(updated.getGenre());
         existing.setRating(updated.getRating());
@@ -68,25 +354,85 @@ public class SeriesService {
         existing.setFinished(updated.isFinished());
 
         if (studioId != null) {
-            Studio studio = studioRepository.findById(studioId)
-                    .orElseThrow(() -> new NotFoundException("Studio not found"));
-            existing.setStudio(studio);
+            existing.setStudio(studioCache.reference(studioId));
         }
 
-        return repository.save(existing);
+        return writing(() -> repository.saveAndFlush(existing));
     }
 
-    @Transactional
-    public void delete(Long id) {
-        if (!repository.existsById(id)) {
-            throw new NotFoundException("Series not found");
+    /**
+     * Runs a write that flushes, translating constraint violations into API errors:
+     * the natural key index into a conflict, the studio foreign key into an unknown studio.
+     */
+    private static <T> T writing(Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            String constraint = e.getCause() instanceof ConstraintViolationException violation
+                    ? violation.getConstraintName()
+                    : null;
+
+            if ("uq_series_title_year_studio".equalsIgnoreCase(constraint)) {
+                throw new ConflictException("Series with this title, year and studio already exists");
+            }
+            if ("fk_series_studio".equalsIgnoreCase(constraint)) {
+                throw new NotFoundException("Studio not found");
+            }
+            throw e;
+        }
+    }
+
+    /** Same rules as SeriesStateValidator. */
+    private static String stateViolation(int year, boolean finished) {
+        if (finished && year > Year.now().getValue()) {
+            return FINISHED_IN_FUTURE;
+        }
+        if (!finished && year < 1950) {
+            return ONGOING_BEFORE_1950;
         }
-        repository.deleteById(id);
+        return null;
     }
 
+    /** Condition on the stored column when the patch changes only one side of a state rule. */
+    private static Specification<Series> stateGuard(SeriesRepositoryCustom.Patch patch) {
+        int currentYear = Year.now().getValue();
+
+        if (patch.finished() != null && patch.year() == null) {
+            return patch.finished()
+                    ? (root, query, cb) -> cb.lessThanOrEqualTo(root.get("year"), currentYear)
+                    : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("year"), 1950);
+        }
+        if (patch.year() != null && patch.finished() == null) {
+            if (patch.year() > currentYear) {
+                return (root, query, cb) -> cb.isFalse(root.get("finished"));
+            }
+            if (patch.year() < 1950) {
+                return (root, query, cb) -> cb.isTrue(root.get("finished"));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return best rated series with their (detached) studios; cached until the next write to the data set
+     */
     public List<Series> topNByRating(int n) {
         // Efficient DB-level sorting + limiting
-        return repository.findAllByOrderByRatingDesc(PageRequest.of(0, n));
+        return readCache.get("series.top:" + n, () -> List.copyOf(repository.findDetachedTopByRating(n)));
+    }
+
+    /**
+     * Counts series grouped by an attribute (see StatisticsService.countByAttribute) in the database;
+     * cached until the next write to the data set. Only a cache miss opens a (read-only) transaction.
+     *
+     * @param attribute attribute name (e.g. "genre", "studio")
+     * @return read-only map: group key -> count
+     * @throws IllegalArgumentException if the attribute is not supported
+     */
+    public Map<String, Long> statistics(String attribute) {
+        String key = attribute.toLowerCase(Locale.ROOT);
+        return readCache.get("series.statistics:" + key,
+                () -> Collections.unmodifiableMap(readOnlyTransaction.execute(tx -> repository.countBy(key))));
     }
 
     public Page<Series> search(
@@ -96,6 +442,38 @@ public class SeriesService {
             String genre,
             Pageable pageable) {
 
+        return repository.findAll(filter(studioId, minRating, year, genre), pageable);
+    }
+
+    /**
+     * Streams all series matching the filters to the given consumer inside a read-only transaction.
+     * Rows are fetched with a database cursor and detached as they are emitted,
+     * so memory does not grow with the size of the result.
+     *
+     * @param consumer function consuming the stream; the stream is closed when it returns
+     * @return value produced by the consumer
+     */
+    @Transactional(readOnly = true)
+    public <R> R streamFiltered(
+            Long studioId,
+            Double minRating,
+            Integer year,
+            String genre,
+            Sort sort,
+            Function<Stream<Series>, R> consumer) {
+
+        try (Stream<Series> stream = repository.streamAll(
+                filter(studioId, minRating, year, genre), sort)) {
+            return consumer.apply(stream);
+        }
+    }
+
+    private Specification<Series> filter(
+            Long studioId,
+            Double minRating,
+            Integer year,
+            String genre) {
+
         Specification<Series> spec = Specification.where(null);
 
         if (studioId != null) {
@@ -119,6 +497,6 @@ public class SeriesService {
                     cb.like(cb.lower(root.get("genre")), like));
         }
 
-        return repository.findAll(spec, pageable);
+        return spec;
     }
 }
@@ -0,0 +1,273 @@
+package org.example.series.core.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.series.core.model.Studio;
+import org.example.series.core.repository.StudioRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of studio lookups by id and by name (case-insensitive, like {@code findByNameIgnoreCase}).
+ *
+ * Two levels:
+ * - an import scope, opened for the duration of one import and bound to the importing thread;
+ *   it also remembers unknown names and ids, so a file with many rows of a missing studio
+ *   does not query for it again
+ * - an application-wide cache ({@code app.studio.cache.enabled}, on by default), holding found studios
+ *   by id and by name, and the list of all studios; studios change rarely and are looked up on most requests
+ *
+ * Without an open scope and with the application-wide cache disabled every lookup goes to the database.
+ * Studios are detached from the persistence context when they are cached (in a scope or application-wide):
+ * safe to reference from new series and to read, their lazy collections must not be touched.
+ * Studio writes clear the application-wide cache.
+ */
+@Component
+public class StudioCache {
+
+    /**
+     * Lookups memoized for one import. Close it when the import is done.
+     */
+    public final class Scope implements AutoCloseable {
+
+        private final Map<String, Optional<Studio>> byName = new ConcurrentHashMap<>();
+        private final Map<Long, Optional<Studio>> byId = new ConcurrentHashMap<>();
+        private final Scope previous;
+
+        private Scope(Scope previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * Makes this scope current on the calling thread as well, for imports that hand work
+         * to other threads. The memoized lookups are shared by all bound threads.
+         *
+         * @return binding to close when the thread is done with the import
+         */
+        public Binding bind() {
+            Scope replaced = current.get();
+            current.set(this);
+            return () -> {
+                if (replaced == null) {
+                    current.remove();
+                } else {
+                    current.set(replaced);
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            if (current.get() == this) {
+                if (previous == null) {
+                    current.remove();
+                } else {
+                    current.set(previous);
+                }
+            }
+        }
+    }
+
+    /**
+     * Scope bound to a worker thread, see {@link Scope#bind()}.
+     */
+    public interface Binding extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final int MAX_STUDIOS = 10_000;
+
+    private final StudioRepository repository;
+    private final EntityManager entityManager;
+    private final boolean shared;
+
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+    private final CacheRegion<String, Studio> sharedByName = new CacheRegion<>("studios.byName", MAX_STUDIOS);
+    private final CacheRegion<Long, Studio> sharedById = new CacheRegion<>("studios.byId", MAX_STUDIOS);
+    private final CacheRegion<Boolean, List<Studio>> sharedAll = new CacheRegion<>("studios.all", 1);
+
+    public StudioCache(StudioRepository repository,
+                       EntityManager entityManager,
+                       @Value("${app.studio.cache.enabled:true}") boolean shared) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.shared = shared;
+    }
+
+    /**
+     * Opens an import scope bound to the current thread.
+     *
+     * @return scope to close when the import is done
+     */
+    public Scope openScope() {
+        Scope scope = new Scope(current.get());
+        current.set(scope);
+        return scope;
+    }
+
+    /**
+     * @param name studio name, case-insensitive
+     * @return studio with that name
+     */
+    public Optional<Studio> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        String key = name.toUpperCase(Locale.ROOT);
+
+        Scope scope = current.get();
+        if (scope != null) {
+            Optional<Studio> studio = scope.byName.computeIfAbsent(key, k -> detach(loadByName(k, name)));
+            // the series created next looks the same studio up by id
+            studio.ifPresent(s -> scope.byId.putIfAbsent(s.getId(), studio));
+            return studio;
+        }
+        return loadByName(key, name);
+    }
+
+    /**
+     * @param id studio id
+     * @return studio with that id
+     */
+    public Optional<Studio> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        Scope scope = current.get();
+        if (scope != null) {
+            return scope.byId.computeIfAbsent(id, k -> detach(loadById(k)));
+        }
+        return loadById(id);
+    }
+
+    /**
+     * Studio to attach to a series being written, without a query when possible:
+     * the cached studio if the current scope or the application-wide cache has it,
+     * otherwise an uninitialized JPA reference (only its id is known; a missing studio
+     * surfaces as a foreign key violation when the series is flushed).
+     *
+     * @param id studio id
+     * @return studio or reference
+     */
+    public Studio reference(Long id) {
+        Scope scope = current.get();
+        Optional<Studio> scoped = scope == null ? null : scope.byId.get(id);
+        if (scoped != null && scoped.isPresent()) {
+            return scoped.get();
+        }
+
+        Studio cached = shared ? sharedById.get(id) : null;
+        return cached != null ? cached : repository.getReferenceById(id);
+    }
+
+    /**
+     * @param id studio id
+     * @return true if the studio exists
+     */
+    public boolean exists(Long id) {
+        return findById(id).isPresent();
+    }
+
+    /**
+     * @return all studios; cached as one list in the application-wide cache
+     */
+    public List<Studio> findAll() {
+        if (!shared) {
+            return repository.findAll();
+        }
+        return sharedAll.get(Boolean.TRUE, k -> {
+            long idGeneration = sharedById.generation();
+            long nameGeneration = sharedByName.generation();
+            List<Studio> studios = List.copyOf(repository.findAll());
+            studios.forEach(studio -> share(studio, idGeneration, nameGeneration));
+            return studios;
+        });
+    }
+
+    /**
+     * @return hit / miss statistics of the application-wide cache regions
+     */
+    public List<Map<String, Object>> stats() {
+        return List.of(sharedById.stats(), sharedByName.stats(), sharedAll.stats());
+    }
+
+    /**
+     * Clears the application-wide cache now and again after the current transaction commits,
+     * so a lookup running concurrently with the write cannot keep the old state.
+     */
+    public void invalidate() {
+        clearShared();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clearShared();
+                }
+            });
+        }
+    }
+
+    private Optional<Studio> loadByName(String key, String name) {
+        if (!shared) {
+            return repository.findByNameIgnoreCase(name);
+        }
+
+        Studio cached = sharedByName.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long idGeneration = sharedById.generation();
+        long nameGeneration = sharedByName.generation();
+        Optional<Studio> studio = repository.findByNameIgnoreCase(name);
+        studio.ifPresent(s -> share(s, idGeneration, nameGeneration));
+        return studio;
+    }
+
+    private Optional<Studio> loadById(Long id) {
+        if (!shared) {
+            return repository.findById(id);
+        }
+
+        Studio cached = sharedById.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long idGeneration = sharedById.generation();
+        long nameGeneration = sharedByName.generation();
+        Optional<Studio> studio = repository.findById(id);
+        studio.ifPresent(s -> share(s, idGeneration, nameGeneration));
+        return studio;
+    }
+
+    private void share(Studio studio, long idGeneration, long nameGeneration) {
+        entityManager.detach(studio);
+        sharedById.put(studio.getId(), studio, idGeneration);
+        sharedByName.put(studio.getName().toUpperCase(Locale.ROOT), studio, nameGeneration);
+    }
+
+    /**
+     * Detaches a studio that is about to be cached: loaded in a request's persistence context
+     * (open session in view), it would otherwise stay managed there while other threads read it.
+     */
+    private Optional<Studio> detach(Optional<Studio> studio) {
+        studio.ifPresent(entityManager::detach);
+        return studio;
+    }
+
+    private void clearShared() {
+        sharedById.clear();
+        sharedByName.clear();
+        sharedAll.clear();
+    }
+}
@@ -3,10 +3,13 @@ package org.example.series.core.service;
 import org.example.series.api.exception.ConflictException;
 import org.example.series.api.exception.NotFoundException;
 import org.example.series.core.model.Studio;
+import org.example.series.core.repository.SeriesRepository;
 import org.example.series.core.repository.StudioRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 
 
@@ -18,20 +21,42 @@ import java.util.List;
 public class StudioService {
 
     private final StudioRepository repository;
-
-    public StudioService(StudioRepository repository) {
+    private final SeriesRepository seriesRepository;
+    private final DatasetVersion datasetVersion;
+    private final StudioCache studioCache;
+    private final CacheInvalidationBus invalidation;
+
+    public StudioService(StudioRepository repository,
+                         SeriesRepository seriesRepository,
+                         DatasetVersion datasetVersion,
+                         StudioCache studioCache,
+                         CacheInvalidationBus invalidation) {
         this.repository = repository;
+        this.seriesRepository = seriesRepository;
+        this.datasetVersion = datasetVersion;
+        this.studioCache = studioCache;
+        this.invalidation = invalidation;
     }
 
     public List<Studio> findAll() {
-        return repository.findAll();
+        return studioCache.findAll();
     }
 
     public Studio findByName(String name) {
-        return repository.findByNameIgnoreCase(name)
+        return studioCache.findByName(name)
                 .orElseThrow(() -> new NotFoundException("Studio not found: " + name));
     }
 
+    /**
+     * Opens an import scope: until it is closed, studio lookups on this thread
+     * (by name here, by id in SeriesService and the StudioExists validator) hit the database once per studio.
+     *
+     * @return scope to close when the import is done
+     */
+    public StudioCache.Scope openImportScope() {
+        return studioCache.openScope();
+    }
+
     public Studio create(String name, String country) {
 
         if (repository.existsByNameIgnoreCase(name)) {
@@ -40,9 +65,17 @@ public class StudioService {
 
         Studio studio = new Studio(name, country);
 
-        return repository.save(studio);
+        Studio saved = repository.save(studio);
+        datasetVersion.bump();
+        invalidation.studiosChanged();
+        return saved;
     }
 
+    /**
+     * Updates a studio. Its series embed the studio in their representation,
+     * so their versions (entity tags) are bumped too when anything changes.
+     */
+    @Transactional
     public Studio update(Long id, String name, String country) {
 
         Studio studio = repository.findById(id)
@@ -55,10 +88,17 @@ public class StudioService {
                     throw new ConflictException("Studio with this name already exists");
                 });
 
+        if (!Objects.equals(studio.getName(), name) || !Objects.equals(studio.getCountry(), country)) {
+            seriesRepository.touchByStudioId(id);
+        }
+
         studio.setName(name);
         studio.setCountry(country);
 
-        return repository.save(studio);
+        Studio saved = repository.save(studio);
+        datasetVersion.bump();
+        invalidation.studiosChanged();
+        return saved;
     }
 
     public void delete(Long id) {
@@ -66,5 +106,8 @@ public class StudioService {
             throw new NotFoundException("Studio not found");
         }
         repository.deleteById(id);
+        datasetVersion.bump();
+        // its series are deleted by the foreign key cascade
+        invalidation.studiosChanged();
     }
 }
@@ -1,12 +1,17 @@
 package org.example.series.web.controller;
 
+import org.example.series.core.export.XmlStatisticsWriter;
 import org.example.series.core.service.SeriesService;
-import org.example.series.core.service.StatisticsService;
 import org.example.series.web.mapper.SeriesViewMapper;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 
@@ -44,10 +49,7 @@ public class SeriesWebController {
     @GetMapping("/top")
     public String top(Model model) {
 
-        var topSeries = StatisticsService.topNByRating(
-                seriesService.findAll(),
-                5
-        );
+        var topSeries = seriesService.topNByRating(5);
 
         model.addAttribute("series",
                 SeriesViewMapper.toViewModelList(topSeries));
@@ -64,12 +66,30 @@ public class SeriesWebController {
 
         if (attribute != null && !attribute.isBlank()) {
             model.addAttribute("stats",
-                    StatisticsService.countByAttribute(
-                            seriesService.findAll(),
-                            attribute
-                    ));
+                    seriesService.statistics(attribute));
         }
 
         return "statistics";
     }
+
+    /**
+     * Downloads statistics as an XML file, streamed straight into the response
+     * (same structure as the file written by the console mode).
+     */
+    @GetMapping("/statistics/xml")
+    public ResponseEntity<StreamingResponseBody> statisticsXml(
+            @RequestParam String attribute,
+            @RequestParam(defaultValue = "true") boolean indent) {
+
+        var stats = seriesService.statistics(attribute);
+        String by = attribute.toLowerCase();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_XML)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("statistics_by_" + by + ".xml")
+                        .build()
+                        .toString())
+                .body(out -> XmlStatisticsWriter.write(stats, by, out, indent));
+    }
 }
@@ -1,6 +1,9 @@
 package org.example.series.api.controller;
 
+import org.example.series.api.service.ImportJobService;
 import org.example.series.api.service.SeriesApiService;
+import org.example.series.api.service.SeriesBulkService;
+import org.example.series.api.service.SeriesImportService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -23,6 +26,15 @@ class SeriesControllerTest {
     @MockBean
     private SeriesApiService service;
 
+    @MockBean
+    private SeriesImportService importService;
+
+    @MockBean
+    private ImportJobService importJobService;
+
+    @MockBean
+    private SeriesBulkService bulkService;
+
     @Test
     void getAll_shouldReturn200() throws Exception {
 
@@ -0,0 +1,142 @@
+package org.example.series.api.importer;
+
+import org.example.series.api.dto.SeriesImportItem;
+import org.example.series.core.export.ReportCsvWriter;
+import org.example.series.core.export.ReportExcelWriter;
+import org.example.series.core.model.Series;
+import org.example.series.core.model.Studio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportReaderTest {
+
+    private static final Studio STUDIO = new Studio(1L, "Netflix \"US\"", "US");
+
+    @Test
+    void csvReportShouldRoundTrip() throws IOException {
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        ReportCsvWriter.write(Stream.of(
+                new Series("Stranger \"Things\"", "Drama", 4, 8.7, 2016, false, STUDIO),
+                new Series("Line\nbreak, comma", "Sci-Fi", 1, 7.0, 2020, true, STUDIO)), csv);
+
+        List<SeriesImportItem> items = readAll(new CsvImportReader(new ByteArrayInputStream(csv.toByteArray())));
+
+        assertEquals(2, items.size());
+        assertItem(items.get(0), "Stranger \"Things\"", "Drama", 4, 8.7, 2016, false);
+        assertItem(items.get(1), "Line\nbreak, comma", "Sci-Fi", 1, 7.0, 2020, true);
+    }
+
+    @Test
+    void csvShouldSkipBlankLinesAndTreatEmptyCellsAsMissing() throws IOException {
+        String csv = "\uFEFFstudio,GENRE,title,year\r\n\r\nNetflix,Drama,Dark,2017.0\r\nHBO,,Chernobyl,\r\n";
+
+        List<SeriesImportItem> items = readAll(new CsvImportReader(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+
+        assertEquals(2, items.size());
+        assertEquals("Dark", items.get(0).getTitle());
+        assertEquals(2017, items.get(0).getYear());
+        assertEquals("Netflix", items.get(0).getStudio().getName());
+        assertNull(items.get(1).getGenre());
+        assertNull(items.get(1).getYear());
+        assertNull(items.get(1).getSeasons());
+    }
+
+    @Test
+    void csvShouldReportUnmappableValueAndContinue() throws IOException {
+        String csv = "Title,Studio,Rating\nDark,Netflix,high\nOzark,Netflix,8.5\n";
+
+        try (CsvImportReader reader = new CsvImportReader(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))) {
+
+            ImportReader.InvalidItemException e = assertThrows(ImportReader.InvalidItemException.class, reader::next);
+            assertEquals("rating: not a number: high", e.getMessage());
+            assertEquals(8.5, reader.next().getRating());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void csvShouldRejectMissingColumnsAndBrokenQuotes() {
+        assertThrows(IOException.class, () -> readAll(new CsvImportReader(
+                new ByteArrayInputStream("Title,Genre\nDark,Drama\n".getBytes(StandardCharsets.UTF_8)))));
+        assertThrows(IOException.class, () -> readAll(new CsvImportReader(
+                new ByteArrayInputStream("Title,Studio\n\"Dark,Netflix\n".getBytes(StandardCharsets.UTF_8)))));
+    }
+
+    @Test
+    void xlsxReportShouldRoundTrip(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("series.xlsx");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            ReportExcelWriter.write(Stream.of(
+                    new Series("Dark", "Drama", 3, 8.7, 2017, true, STUDIO),
+                    new Series("1899", "Mystery", 1, 7.7, 2022, false, STUDIO)), out, 1);
+        }
+
+        ImportReader reader = ImportFormat.of(null, "series.xlsx").open(file);
+        assertTrue(reader.skip());
+        List<SeriesImportItem> items = readAll(reader);
+
+        assertEquals(1, items.size());
+        assertItem(items.get(0), "1899", "Mystery", 1, 7.7, 2022, false);
+    }
+
+    @Test
+    void xlsxShouldRejectOtherFiles(@TempDir Path dir) throws IOException {
+        Path file = Files.writeString(dir.resolve("series.xlsx"), "Title,Studio\n");
+
+        assertThrows(IOException.class, () -> new XlsxImportReader(file));
+    }
+
+    @Test
+    void jsonShouldReadSingleObjectOrArray() throws IOException {
+        String object = "{\"title\":\"Dark\",\"studio\":{\"name\":\"Netflix\"}}";
+
+        assertEquals(1, readAll(new JsonImportReader(
+                new ByteArrayInputStream(object.getBytes(StandardCharsets.UTF_8)))).size());
+        assertEquals(2, readAll(new JsonImportReader(
+                new ByteArrayInputStream(("[" + object + "," + object + "]").getBytes(StandardCharsets.UTF_8)))).size());
+    }
+
+    @Test
+    void formatShouldFollowParameterThenExtension() {
+        assertEquals(ImportFormat.CSV, ImportFormat.of("csv", "series.json"));
+        assertEquals(ImportFormat.XLSX, ImportFormat.of(null, "Report.XLSX"));
+        assertEquals(ImportFormat.JSON, ImportFormat.of("", "upload"));
+        assertThrows(IllegalArgumentException.class, () -> ImportFormat.of("xml", "series.xml"));
+    }
+
+    private static List<SeriesImportItem> readAll(ImportReader reader) throws IOException {
+        try (reader) {
+            List<SeriesImportItem> items = new ArrayList<>();
+            for (SeriesImportItem item = reader.next(); item != null; item = reader.next()) {
+                items.add(item);
+            }
+            return items;
+        }
+    }
+
+    private static void assertItem(SeriesImportItem item, String title, String genre,
+                                   int seasons, double rating, int year, boolean finished) {
+        assertEquals(title, item.getTitle());
+        assertEquals(genre, item.getGenre());
+        assertEquals(seasons, item.getSeasons());
+        assertEquals(rating, item.getRating());
+        assertEquals(year, item.getYear());
+        assertEquals(finished, item.getFinished());
+        assertEquals("Netflix \"US\"", item.getStudio().getName());
+    }
+}
@@ -1,14 +1,18 @@
 package org.example.series.api.service;
 
 import org.example.series.api.dto.SeriesRequest;
+import org.example.series.core.export.ReportExcelWriter;
+import org.example.series.core.export.ReportJobService;
 import org.example.series.core.export.ReportStore;
 import org.example.series.core.model.Series;
 import org.example.series.core.model.Studio;
+import org.example.series.core.service.DatasetVersion;
 import org.example.series.core.service.SeriesService;
-import org.example.series.core.service.StudioService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import jakarta.validation.Validator;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,18 +26,27 @@ class SeriesApiServiceTest {
     @BeforeEach
     void setup() {
         seriesService = mock(SeriesService.class);
-        StudioService studioService = mock(StudioService.class);
         ReportStore reportStore = mock(ReportStore.class);
-        Validator validator = mock(Validator.class);
+        ReportJobService reportJobService = mock(ReportJobService.class);
 
         service = new SeriesApiService(
                 seriesService,
-                studioService,
                 reportStore,
-                validator
+                reportJobService,
+                new DatasetVersion(),
+                ReportExcelWriter.DEFAULT_ROW_WINDOW,
+                mock(ThreadPoolTaskExecutor.class)
         );
     }
 
+    @Test
+    void sortDirectionShouldDefaultToAscending() {
+        assertEquals(Sort.Direction.ASC, SeriesApiService.sortDirection(null));
+        assertEquals(Sort.Direction.ASC, SeriesApiService.sortDirection(" "));
+        assertEquals(Sort.Direction.DESC, SeriesApiService.sortDirection(" desc "));
+        assertThrows(IllegalArgumentException.class, () -> SeriesApiService.sortDirection("down"));
+    }
+
     @Test
     void shouldReturnAll() {
 
@@ -0,0 +1,167 @@
+package org.example.series.api.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.example.series.api.dto.SeriesBulkRequest;
+import org.example.series.api.dto.SeriesMgetRequest;
+import org.example.series.api.dto.SeriesRequest;
+import org.example.series.api.dto.SeriesResponse;
+import org.example.series.api.exception.BulkOperationException;
+import org.example.series.api.exception.ConflictException;
+import org.example.series.core.model.Series;
+import org.example.series.core.model.Studio;
+import org.example.series.core.repository.StudioRepository;
+import org.example.series.core.service.SeriesService;
+import org.example.series.core.service.StudioCache;
+import org.example.series.core.service.StudioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeriesBulkServiceTest {
+
+    private static final Studio STUDIO = new Studio(7L, "Netflix", "US");
+
+    private SeriesService seriesService;
+    private Validator validator;
+    private SeriesBulkService service;
+
+    @BeforeEach
+    void setup() {
+        seriesService = mock(SeriesService.class);
+        validator = mock(Validator.class);
+        StudioService studioService = mock(StudioService.class);
+
+        when(studioService.openImportScope())
+                .thenAnswer(inv -> new StudioCache(mock(StudioRepository.class), mock(EntityManager.class), false).openScope());
+        when(validator.validate(any(SeriesRequest.class))).thenReturn(Set.of());
+
+        service = new SeriesBulkService(seriesService, studioService, validator, 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkShouldRunAllOperationsInOneCallAndReportEach() {
+        Series created = series(10L, "Dark");
+        Series updated = series(5L, "Ozark");
+        when(seriesService.bulk(anyList())).thenReturn(Arrays.asList(created, updated, null));
+
+        ResponseEntity<Map<String, Object>> response = service.bulk(request(
+                operation("create", null, data("Dark")),
+                operation("update", 5L, data("Ozark")),
+                operation("delete", 7L, null)));
+
+        verify(seriesService, times(1)).bulk(argThat(ops -> ops.size() == 3
+                && ops.get(0).type() == SeriesService.BulkOperation.Type.CREATE
+                && ops.get(1).id() == 5L
+                && ops.get(2).type() == SeriesService.BulkOperation.Type.DELETE));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(true, response.getBody().get("committed"));
+        List<Map<String, Object>> results = (List<Map<String, Object>>) response.getBody().get("results");
+        assertEquals(List.of(201, 200, 204), results.stream().map(r -> r.get("status")).toList());
+        assertEquals(List.of(10L, 5L, 7L), results.stream().map(r -> r.get("id")).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkShouldNotWriteWhenAnOperationIsInvalid() {
+        ResponseEntity<Map<String, Object>> response = service.bulk(request(
+                operation("create", null, data("Dark")),
+                operation("update", null, data("Ozark")),
+                operation("merge", 1L, null)));
+
+        verify(seriesService, never()).bulk(anyList());
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(false, response.getBody().get("committed"));
+
+        List<Map<String, Object>> results = (List<Map<String, Object>>) response.getBody().get("results");
+        assertEquals(List.of(424, 400, 400), results.stream().map(r -> r.get("status")).toList());
+        assertEquals("Id is required for update", results.get(1).get("error"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkShouldReportFailedOperationWhenRolledBack() {
+        when(seriesService.bulk(anyList()))
+                .thenThrow(new BulkOperationException(1, new ConflictException("Series with this title, year and studio already exists")));
+
+        ResponseEntity<Map<String, Object>> response = service.bulk(request(
+                operation("create", null, data("Dark")),
+                operation("create", null, data("Dark"))));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        List<Map<String, Object>> results = (List<Map<String, Object>>) response.getBody().get("results");
+        assertEquals(List.of(424, 409), results.stream().map(r -> r.get("status")).toList());
+        assertEquals("Not applied: operation 1 failed", results.get(0).get("error"));
+    }
+
+    @Test
+    void bulkShouldRejectTooManyOperations() {
+        SeriesBulkRequest request = request(
+                operation("delete", 1L, null), operation("delete", 2L, null),
+                operation("delete", 3L, null), operation("delete", 4L, null));
+
+        assertThrows(IllegalArgumentException.class, () -> service.bulk(request));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void mgetShouldKeepRequestOrderAndListMissingIds() {
+        List<Series> found = List.of(series(1L, "Dark"), series(3L, "Ozark"));
+        when(seriesService.findAllById(List.of(3L, 1L, 2L))).thenReturn(found);
+
+        SeriesMgetRequest request = new SeriesMgetRequest();
+        request.setIds(List.of(3L, 1L, 3L, 2L));
+
+        Map<String, Object> result = service.mget(request);
+
+        List<SeriesResponse> series = (List<SeriesResponse>) result.get("series");
+        assertEquals(List.of("Ozark", "Dark"), series.stream().map(SeriesResponse::getTitle).toList());
+        assertEquals(List.of(2L), result.get("missing"));
+    }
+
+    private static Series series(Long id, String title) {
+        Series series = mock(Series.class);
+        when(series.getId()).thenReturn(id);
+        when(series.getTitle()).thenReturn(title);
+        when(series.getStudio()).thenReturn(STUDIO);
+        return series;
+    }
+
+    private static SeriesRequest data(String title) {
+        SeriesRequest data = new SeriesRequest();
+        data.setTitle(title);
+        data.setGenre("Drama");
+        data.setSeasons(1);
+        data.setRating(8.0);
+        data.setYear(2020);
+        data.setFinished(false);
+        data.setStudioId(7L);
+        return data;
+    }
+
+    private static SeriesBulkRequest.Operation operation(String op, Long id, SeriesRequest data) {
+        SeriesBulkRequest.Operation operation = new SeriesBulkRequest.Operation();
+        operation.setOp(op);
+        operation.setId(id);
+        operation.setData(data);
+        return operation;
+    }
+
+    private static SeriesBulkRequest request(SeriesBulkRequest.Operation... operations) {
+        SeriesBulkRequest request = new SeriesBulkRequest();
+        request.setOperations(new ArrayList<>(List.of(operations)));
+        return request;
+    }
+}
@@ -0,0 +1,279 @@
+package org.example.series.api.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.example.series.api.dto.SeriesImportItem;
+import org.example.series.api.dto.SeriesRequest;
+import org.example.series.api.exception.NotFoundException;
+import org.example.series.api.importer.ImportFormat;
+import org.example.series.api.importer.ImportReader;
+import org.example.series.api.importer.JsonImportReader;
+import org.example.series.core.loader.SeriesCopyLoader;
+import org.example.series.core.model.ImportJob;
+import org.example.series.core.model.Series;
+import org.example.series.core.model.Studio;
+import org.example.series.core.repository.SeriesRepositoryCustom;
+import org.example.series.core.repository.StudioRepository;
+import org.example.series.core.service.SeriesService;
+import org.example.series.core.service.StudioCache;
+import org.example.series.core.service.StudioService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeriesImportServiceTest {
+
+    private SeriesService seriesService;
+    private StudioService studioService;
+    private Validator validator;
+    private ThreadPoolTaskExecutor writerExecutor;
+    private ThreadPoolTaskExecutor validationExecutor;
+    private SeriesImportService service;
+
+    @BeforeEach
+    void setup() {
+        seriesService = mock(SeriesService.class);
+        studioService = mock(StudioService.class);
+        validator = mock(Validator.class);
+
+        writerExecutor = executor(1);
+        validationExecutor = executor(2);
+
+        when(studioService.openImportScope())
+                .thenAnswer(inv -> new StudioCache(mock(StudioRepository.class), mock(EntityManager.class), false).openScope());
+
+        service = new SeriesImportService(
+                seriesService,
+                studioService,
+                validator,
+                mock(SeriesCopyLoader.class),
+                writerExecutor,
+                validationExecutor,
+                mock(PlatformTransactionManager.class),
+                2,
+                "data"
+        );
+    }
+
+    @AfterEach
+    void shutdown() {
+        writerExecutor.shutdown();
+        validationExecutor.shutdown();
+    }
+
+    @Test
+    void uploadShouldInsertValidItemsInBatches() {
+        givenStudioAndValidItems();
+
+        Map<String, Object> result = service.upload(uploadFile(5));
+
+        // batch size 2: 2 + 2 + 1
+        verify(seriesService, times(3)).createAll(anyList(), anyList());
+        verify(seriesService, never()).create(any(), any());
+        assertEquals(5, result.get("success"));
+        assertEquals(0, result.get("failed"));
+    }
+
+    @Test
+    void uploadShouldRetryFailedBatchItemByItem() {
+        Studio studio = givenStudioAndValidItems();
+
+        when(seriesService.createAll(anyList(), anyList()))
+                .thenThrow(new IllegalStateException("batch failed"));
+        when(seriesService.create(any(), eq(7L)))
+                .thenReturn(new Series("Series 1", "Drama", 1, 8.0, 2020, false, studio))
+                .thenThrow(new IllegalStateException("duplicate"));
+
+        Map<String, Object> result = service.upload(uploadFile(2));
+
+        assertEquals(1, result.get("success"));
+        assertEquals(1, result.get("failed"));
+        assertEquals(List.of(Map.of("index", 2, "reason", "import", "details", "duplicate")), result.get("errors"));
+    }
+
+    @Test
+    void upsertUploadShouldUpsertBatchesAndCountInsertedAndUpdated() {
+        givenStudioAndValidItems();
+        when(seriesService.upsertAll(anyList(), anyList()))
+                .thenReturn(new SeriesRepositoryCustom.UpsertResult(1, 1, 0))
+                .thenReturn(new SeriesRepositoryCustom.UpsertResult(0, 1, 0));
+
+        Map<String, Object> result = service.upload(uploadFile(3), ImportJob.Mode.UPSERT);
+
+        verify(seriesService, times(2)).upsertAll(anyList(), anyList());
+        verify(seriesService, never()).createAll(anyList(), anyList());
+        assertEquals(3, result.get("success"));
+        assertEquals(1L, result.get("inserted"));
+        assertEquals(2L, result.get("updated"));
+    }
+
+    @Test
+    void uploadShouldReportErrorsWithFileIndexAcrossChunks() {
+        givenStudioAndValidItems();
+        when(studioService.findByName("Unknown")).thenThrow(new NotFoundException("Studio not found"));
+
+        // items of several validation chunks, two of them with an unknown studio
+        Map<String, Object> result = service.upload(uploadFile(600, 300, 520));
+
+        assertEquals(598, result.get("success"));
+        assertEquals(2, result.get("failed"));
+        assertEquals(List.of(
+                Map.of("index", 300, "reason", "import", "details", "Studio not found"),
+                Map.of("index", 520, "reason", "import", "details", "Studio not found")
+        ), result.get("errors"));
+    }
+
+    @Test
+    void importShouldResumeAfterCheckpoint() throws Exception {
+        givenStudioAndValidItems();
+        List<SeriesImportService.Checkpoint> checkpoints = new ArrayList<>();
+
+        SeriesImportService.Checkpoint result;
+        try (InputStream in = uploadFile(5).getInputStream()) {
+            result = service.importItems(new JsonImportReader(in), ImportFormat.JSON,
+                    new SeriesImportService.Checkpoint(3, 2, 1, 2, 0), ImportJob.Mode.INSERT, writerExecutor,
+                    new SeriesImportService.ImportListener() {
+                        @Override
+                        public void failed(Map<String, Object> error) {
+                            fail("unexpected error " + error);
+                        }
+
+                        @Override
+                        public void committed(SeriesImportService.Checkpoint checkpoint) {
+                            checkpoints.add(checkpoint);
+                        }
+                    });
+        }
+
+        // items 1-3 are skipped, 4 and 5 make one batch
+        verify(seriesService, times(1)).createAll(argThat(batch -> batch.size() == 2), anyList());
+        assertEquals(List.of(new SeriesImportService.Checkpoint(5, 4, 1, 4, 0)), checkpoints);
+        assertEquals(new SeriesImportService.Checkpoint(5, 4, 1, 4, 0), result);
+    }
+
+    @Test
+    void importShouldStopWriterAndRethrowReaderBug() throws Exception {
+        givenStudioAndValidItems();
+        NumberFormatException bug = new NumberFormatException("For input string: \"x\"");
+
+        try (InputStream in = uploadFile(600).getInputStream()) {
+            JsonImportReader json = new JsonImportReader(in);
+            ImportReader reader = new ImportReader() {
+                private int read;
+
+                @Override
+                public SeriesImportItem next() throws IOException {
+                    if (++read == 520) {
+                        throw bug;
+                    }
+                    return json.next();
+                }
+
+                @Override
+                public boolean skip() throws IOException {
+                    return json.skip();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    json.close();
+                }
+            };
+
+            NumberFormatException thrown = assertThrows(NumberFormatException.class, () -> service.importItems(
+                    reader, ImportFormat.JSON, SeriesImportService.Checkpoint.START, ImportJob.Mode.INSERT,
+                    writerExecutor, new SeriesImportService.ImportListener() {
+                        @Override
+                        public void failed(Map<String, Object> error) {
+                            fail("unexpected error " + error);
+                        }
+
+                        @Override
+                        public void committed(SeriesImportService.Checkpoint checkpoint) {
+                        }
+                    }));
+            assertSame(bug, thrown);
+        }
+
+        // the writer has stopped: at most the first two chunks (512 items, 2 per batch) were written,
+        // and the next import gets the writer thread
+        verify(seriesService, atMost(256)).createAll(anyList(), anyList());
+        assertEquals(3, service.upload(uploadFile(3)).get("success"));
+    }
+
+    @Test
+    void csvUploadShouldReportUnmappableCellsAsValidationErrors() {
+        givenStudioAndValidItems();
+        MockMultipartFile file = new MockMultipartFile("file", "series.csv", "text/csv", """
+                Title,Seasons,Rating,Year,Finished,Studio,Genre
+                "Dark",3,8.7,2017,true,"Netflix","Drama"
+                "Ozark",four,8.5,2017,true,"Netflix","Crime"
+                "1899",1,7.7,2022,false,"Netflix","Mystery"
+                """.getBytes(StandardCharsets.UTF_8));
+
+        Map<String, Object> result = service.upload(file, ImportJob.Mode.INSERT, ImportFormat.CSV);
+
+        assertEquals(2, result.get("success"));
+        assertEquals(1, result.get("failed"));
+        assertEquals(List.of(Map.of("index", 2, "reason", "validation",
+                "details", List.of("seasons: not an integer: four"))), result.get("errors"));
+    }
+
+    @Test
+    void uploadShouldRejectInvalidJson() {
+        MockMultipartFile file = new MockMultipartFile("file", "series.json", "application/json",
+                "{not json".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> service.upload(file));
+    }
+
+    private Studio givenStudioAndValidItems() {
+        Studio studio = mock(Studio.class);
+        when(studio.getId()).thenReturn(7L);
+        when(studio.getName()).thenReturn("Netflix");
+        when(studioService.findByName("Netflix")).thenReturn(studio);
+        when(validator.validate(any(SeriesRequest.class))).thenReturn(Set.of());
+        return studio;
+    }
+
+    private static ThreadPoolTaskExecutor executor(int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.initialize();
+        return executor;
+    }
+
+    private static MockMultipartFile uploadFile(int items, int... unknownStudioAt) {
+        Set<Integer> unknown = new HashSet<>();
+        for (int index : unknownStudioAt) {
+            unknown.add(index);
+        }
+
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= items; i++) {
+            json.append(i > 1 ? "," : "")
+                    .append("{\"title\":\"Series ").append(i)
+                    .append("\",\"genre\":\"Drama\",\"seasons\":1,\"rating\":8.0,\"year\":2020,")
+                    .append("\"finished\":false,\"studio\":{\"name\":\"")
+                    .append(unknown.contains(i) ? "Unknown" : "Netflix").append("\"}}");
+        }
+        return new MockMultipartFile("file", "series.json", "application/json",
+                json.append("]").toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
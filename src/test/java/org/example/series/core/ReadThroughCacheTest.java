@@ -0,0 +1,117 @@
+package org.example.series.core;
+
+import org.example.series.core.service.DatasetVersion;
+import org.example.series.core.service.ReadThroughCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadThroughCacheTest {
+
+    @Test
+    void shouldComputeOncePerDatasetVersion() {
+        DatasetVersion version = new DatasetVersion();
+        ReadThroughCache cache = new ReadThroughCache(version, true, Duration.ofMinutes(10), 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.get("top:5", () -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.get("top:5", () -> "v" + loads.incrementAndGet()));
+
+        version.bump();
+        assertEquals("v2", cache.get("top:5", () -> "v" + loads.incrementAndGet()));
+
+        assertEquals(1L, cache.stats().get("hits"));
+        assertEquals(2L, cache.stats().get("misses"));
+    }
+
+    @Test
+    void expiredEntriesShouldBeRecomputed() {
+        ReadThroughCache cache = new ReadThroughCache(new DatasetVersion(), true, Duration.ZERO, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("top:5", loads::incrementAndGet);
+        cache.get("top:5", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryShouldBeDroppedWhenFull() {
+        ReadThroughCache cache = new ReadThroughCache(new DatasetVersion(), true, Duration.ofMinutes(10), 2);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", loads::incrementAndGet);
+        cache.get("b", loads::incrementAndGet);
+        cache.get("a", loads::incrementAndGet);
+        cache.get("c", loads::incrementAndGet);
+        cache.get("a", loads::incrementAndGet);
+        cache.get("b", loads::incrementAndGet);
+
+        assertEquals(4, loads.get());
+        assertEquals(2L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    void failuresShouldNotBeCached() {
+        ReadThroughCache cache = new ReadThroughCache(new DatasetVersion(), true, Duration.ofMinutes(10), 100);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.get("statistics:x", () -> {
+            throw new IllegalArgumentException("Unsupported attribute: x");
+        }));
+        assertEquals("ok", cache.get("statistics:x", () -> "ok"));
+    }
+
+    @Test
+    void concurrentMissesShouldBeCoalesced() throws Exception {
+        ReadThroughCache cache = new ReadThroughCache(new DatasetVersion(), true, Duration.ofMinutes(10), 100);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<Integer> first = pool.submit(() -> cache.get("top:5", () -> {
+                loading.countDown();
+                await(release);
+                return loads.incrementAndGet();
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            List<Future<Integer>> waiting = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                waiting.add(pool.submit(() -> cache.get("top:5", loads::incrementAndGet)));
+            }
+            // the waiting callers have registered as coalesced before the load finishes
+            while ((long) cache.stats().get("coalesced") < 3) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals(1, first.get(5, TimeUnit.SECONDS));
+            for (Future<Integer> result : waiting) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.series.core;
+
+import org.example.series.core.export.ReportBundleWriter;
+import org.example.series.core.export.ReportExcelWriter;
+import org.example.series.core.export.ReportFormat;
+import org.example.series.core.model.Series;
+import org.example.series.core.model.Studio;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportBundleWriterTest {
+
+    private static Map<String, String> unzip(byte[] zip) throws Exception {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    @Test
+    void shouldWriteSeveralFormatsFromOneScan() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Studio studio = new Studio(1L, "Netflix", "US");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            new ReportBundleWriter(List.of(ReportFormat.CSV, ReportFormat.NDJSON, ReportFormat.XLSX), null,
+                    ReportExcelWriter.DEFAULT_ROW_WINDOW, executor, 2)
+                    .write(Stream.of(new Series("Dark", "Drama", 3, 8.7, 2017, true, studio)), out);
+
+            Map<String, String> entries = unzip(out.toByteArray());
+
+            assertEquals(List.of("series-report.csv", "series-report.ndjson", "series-report.xlsx"),
+                    List.copyOf(entries.keySet()));
+            assertTrue(entries.get("series-report.csv").contains("\"Dark\",3,8.7,2017,true,\"Netflix\""));
+            assertTrue(entries.get("series-report.ndjson").contains("\"title\":\"Dark\""));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldWriteOneFilePerPartitionInParallel() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Studio studio = new Studio(1L, "HBO Max", "US");
+
+            // grouped by year, as the caller sorts by the partition key first
+            Stream<Series> rows = IntStream.range(0, 9000).mapToObj(i ->
+                    new Series("S" + i, "Drama", 1, 7.0, 2020 + i / 3000, false, studio));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new ReportBundleWriter(List.of(ReportFormat.CSV), ReportBundleWriter.Partition.YEAR,
+                    ReportExcelWriter.DEFAULT_ROW_WINDOW, executor, 3).write(rows, out);
+
+            Map<String, String> entries = unzip(out.toByteArray());
+
+            assertEquals(List.of("2020/series-report.csv", "2021/series-report.csv", "2022/series-report.csv"),
+                    List.copyOf(entries.keySet()));
+            for (String csv : entries.values()) {
+                assertEquals(3001L, csv.lines().count());
+            }
+
+            ByteArrayOutputStream byStudio = new ByteArrayOutputStream();
+            new ReportBundleWriter(List.of(ReportFormat.JSON), ReportBundleWriter.Partition.STUDIO,
+                    ReportExcelWriter.DEFAULT_ROW_WINDOW, executor, 3)
+                    .write(Stream.of(new Series("Dark", "Drama", 3, 8.7, 2017, true, studio)), byStudio);
+
+            assertEquals(List.of("hbo_max-1/series-report.json"), List.copyOf(unzip(byStudio.toByteArray()).keySet()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldWaitForOldestPartitionWhenLimitIsReached() throws Exception {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // keeps the only worker busy, so submitted partitions stay in the executor queue
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            Studio studio = new Studio(1L, "Netflix", "US");
+            Stream<Series> rows = IntStream.range(0, 10).mapToObj(i ->
+                    new Series("S" + i, "Drama", 1, 7.0, 2010 + i, false, studio));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            CompletableFuture<Void> written = CompletableFuture.runAsync(() ->
+                    new ReportBundleWriter(List.of(ReportFormat.CSV), ReportBundleWriter.Partition.YEAR,
+                            ReportExcelWriter.DEFAULT_ROW_WINDOW, executor, 2).write(rows, out));
+
+            while (executor.getQueue().size() < 2) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(200);
+            assertEquals(2, executor.getQueue().size());
+            assertFalse(written.isDone());
+
+            release.countDown();
+            written.get(10, TimeUnit.SECONDS);
+            assertEquals(10, unzip(out.toByteArray()).size());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldPropagatePartitionFailure() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // the CSV writer needs a studio name
+            Stream<Series> rows = IntStream.range(0, 5000).mapToObj(i ->
+                    new Series("S" + i, "Drama", 1, 7.0, 2020 + i / 2500, false, null));
+
+            assertThrows(NullPointerException.class, () ->
+                    new ReportBundleWriter(List.of(ReportFormat.CSV), ReportBundleWriter.Partition.YEAR,
+                            ReportExcelWriter.DEFAULT_ROW_WINDOW, executor, 2)
+                            .write(rows, new ByteArrayOutputStream()));
+
+            assertThrows(IllegalArgumentException.class, () -> ReportBundleWriter.Partition.of("genre"));
+            assertNull(ReportBundleWriter.Partition.of(" "));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
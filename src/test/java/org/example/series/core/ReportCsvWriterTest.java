@@ -0,0 +1,50 @@
+package org.example.series.core;
+
+import org.example.series.core.export.ReportCsvWriter;
+import org.example.series.core.export.ReportRowWriter;
+import org.example.series.core.model.Series;
+import org.example.series.core.model.Studio;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportCsvWriterTest {
+
+    @Test
+    void shouldStreamRowsWithEscapedQuotes() {
+
+        Studio studio = new Studio();
+        studio.setName("Netflix \"US\"");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ReportCsvWriter.write(Stream.of(
+                new Series("Stranger \"Things\"", "Drama", 4, 8.7, 2016, false, studio),
+                new Series("Дуже дивні дива", "Drama", 5, 8.7, 2016, true, studio)
+        ), out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+
+        assertEquals("""
+                Title,Seasons,Rating,Year,Finished,Studio,Genre
+                "Stranger ""Things\""",4,8.7,2016,false,"Netflix ""US\""","Drama"
+                "Дуже дивні дива",5,8.7,2016,true,"Netflix ""US\""","Drama"
+                """, csv);
+    }
+
+    @Test
+    void shouldWriteOnlyHeaderWhenNoRowsAreWritten() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (ReportRowWriter writer = ReportCsvWriter.open(out)) {
+            writer.finish();
+        }
+
+        assertEquals("Title,Seasons,Rating,Year,Finished,Studio,Genre\n", out.toString(StandardCharsets.UTF_8));
+    }
+}
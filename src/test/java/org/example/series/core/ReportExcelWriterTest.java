@@ -0,0 +1,42 @@
+package org.example.series.core;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.example.series.core.export.ReportExcelWriter;
+import org.example.series.core.model.Series;
+import org.example.series.core.model.Studio;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportExcelWriterTest {
+
+    @Test
+    void shouldStreamRowsBeyondRowWindow() throws Exception {
+
+        Studio studio = new Studio();
+        studio.setName("Warner Bros. Television");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // 250 rows with a window of 10: most rows are flushed to the temp file while writing
+        ReportExcelWriter.write(IntStream.rangeClosed(1, 250)
+                .mapToObj(i -> new Series("Series " + i, "Drama", 1, 7.5, 2020, false, studio)), out, 10);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Series");
+
+            assertEquals(250, sheet.getLastRowNum());
+            assertEquals("Title", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals("Series 250", sheet.getRow(250).getCell(0).getStringCellValue());
+            assertEquals(7.5, sheet.getRow(1).getCell(2).getNumericCellValue());
+
+            // studio column is sized from sampled values, not left at the default width
+            assertTrue(sheet.getColumnWidth(5) >= "Warner Bros. Television".length() * 256);
+        }
+    }
+}
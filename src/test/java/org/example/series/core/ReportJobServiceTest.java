@@ -0,0 +1,184 @@
+package org.example.series.core;
+
+import org.example.series.api.exception.ConflictException;
+import org.example.series.api.exception.TooManyRequestsException;
+import org.example.series.core.export.ReportJob;
+import org.example.series.core.export.ReportJobService;
+import org.example.series.core.export.ReportStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportJobServiceTest {
+
+    private static ThreadPoolTaskExecutor executor(int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+
+    private static ReportStore reportStore() throws IOException {
+        ReportStore store = new ReportStore(Files.createTempDirectory("reports").toString(),
+                Duration.ofHours(1), DataSize.ofMegabytes(1), 4, DataSize.ofKilobytes(64), false);
+        store.init();
+        return store;
+    }
+
+    private static void await(ReportJob job) throws InterruptedException {
+        for (int i = 0; i < 200 && !job.isFinished(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(job.isFinished(), "job did not finish: " + job.getStatus());
+    }
+
+    @Test
+    void shouldRunQueueRejectAndCancelJobs() throws Exception {
+        ThreadPoolTaskExecutor executor = executor(1, 1);
+        ReportStore store = reportStore();
+        ReportJobService service = new ReportJobService(executor, store);
+
+        try {
+            runQueueRejectAndCancel(service, store);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void runQueueRejectAndCancel(ReportJobService service, ReportStore store) throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        ReportJob running = service.submit("a.csv", "text/csv", (job, out) -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            job.track(Stream.of("x", "y", "z")).forEach(row -> { });
+        });
+
+        ReportJob queued = service.submit("b.csv", "text/csv", (job, out) -> { });
+
+        // single worker busy, queue (capacity 1) full
+        assertThrows(TooManyRequestsException.class,
+                () -> service.submit("c.csv", "text/csv", (job, out) -> { }));
+
+        service.cancel(queued.getId());
+        assertEquals(ReportJob.Status.CANCELLED, queued.getStatus());
+
+        release.countDown();
+        await(running);
+
+        assertEquals(ReportJob.Status.DONE, running.getStatus());
+        assertEquals(3L, running.getRowsWritten());
+        assertNotNull(store.get(running.getId()));
+
+        // finished jobs cannot be cancelled
+        assertThrows(ConflictException.class, () -> service.cancel(running.getId()));
+    }
+
+    @Test
+    void shouldStopRunningJobOnCancel() throws Exception {
+        ThreadPoolTaskExecutor executor = executor(1, 1);
+        ReportJobService service = new ReportJobService(executor, reportStore());
+
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+
+            ReportJob job = service.submit("a.csv", "text/csv", (reportJob, out) ->
+                    reportJob.track(Stream.generate(() -> "row")).forEach(row -> started.countDown()));
+
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            service.cancel(job.getId());
+            await(job);
+
+            assertEquals(ReportJob.Status.CANCELLED, job.getStatus());
+            assertTrue(job.getRowsWritten() > 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldReuseCachedAndInFlightReports() throws Exception {
+        ThreadPoolTaskExecutor executor = executor(1, 4);
+        ReportJobService service = new ReportJobService(executor, reportStore());
+
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger generated = new AtomicInteger();
+
+            ReportJobService.ReportTask task = (job, out) -> {
+                generated.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                    out.write("report".getBytes(StandardCharsets.UTF_8));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+
+            ReportJob first = service.submitCached("key", "a.csv", "text/csv", task);
+            ReportJob joined = service.submitCached("key", "a.csv", "text/csv", task);
+            assertSame(first, joined);
+            assertNull(service.findCached("key"));
+
+            release.countDown();
+            await(first);
+
+            assertSame(first, service.submitCached("key", "a.csv", "text/csv", task));
+            assertEquals(6L, service.findCached("key").size());
+            assertEquals(1, generated.get());
+
+            ReportJob other = service.submitCached("other-key", "a.csv", "text/csv", task);
+            assertNotSame(first, other);
+            await(other);
+            assertEquals(2, generated.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldStoreSynchronousReportWhileStreaming() throws Exception {
+        ThreadPoolTaskExecutor executor = executor(1, 1);
+        ReportJobService service = new ReportJobService(executor, reportStore());
+
+        try {
+            ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+            service.writeThrough("key", "a.csv", "text/csv", response, (job, out) -> {
+                try {
+                    out.write("report".getBytes(StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            assertEquals("report", response.toString(StandardCharsets.UTF_8));
+            assertEquals("report", new String(service.findCached("key").data(), StandardCharsets.UTF_8));
+
+            // failed reports are not cached
+            assertThrows(IllegalStateException.class, () -> service.writeThrough("failed", "a.csv", "text/csv",
+                    new ByteArrayOutputStream(), (job, out) -> { throw new IllegalStateException("boom"); }));
+            assertNull(service.findCached("failed"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
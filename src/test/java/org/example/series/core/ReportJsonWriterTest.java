@@ -0,0 +1,49 @@
+package org.example.series.core;
+
+import org.example.series.core.export.ReportJsonWriter;
+import org.example.series.core.model.Series;
+import org.example.series.core.model.Studio;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportJsonWriterTest {
+
+    private final Studio studio = new Studio(5L, "HBO", "USA");
+
+    @Test
+    void shouldWriteFlatRowsAsCompactArray() {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ReportJsonWriter.write(Stream.of(
+                new Series("Game of Thrones", "Fantasy", 8, 9.2, 2011, true, studio)
+        ), out, false);
+
+        assertEquals("[{\"id\":null,\"title\":\"Game of Thrones\",\"genre\":\"Fantasy\","
+                        + "\"seasons\":8,\"rating\":9.2,\"year\":2011,\"finished\":true,"
+                        + "\"studioId\":5,\"studio\":\"HBO\"}]",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldWriteOneObjectPerLineForNdjson() {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ReportJsonWriter.writeNdjson(Stream.of(
+                new Series("A", "Drama", 1, 7.0, 2020, false, studio),
+                new Series("B", "Drama", 2, 8.0, 2021, true, studio)
+        ), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{") && lines[0].contains("\"title\":\"A\""));
+        assertTrue(lines[1].startsWith("{") && lines[1].contains("\"title\":\"B\""));
+    }
+}
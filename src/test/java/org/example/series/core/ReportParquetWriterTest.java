@@ -0,0 +1,213 @@
+package org.example.series.core;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import org.example.series.core.export.ReportParquetWriter;
+import org.example.series.core.model.Series;
+import org.example.series.core.model.Studio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes reports with ReportParquetWriter and decodes them with the reference Parquet reader (parquet-hadoop).
+ */
+class ReportParquetWriterTest {
+
+    private static final Studio HBO = new Studio(7L, "HBO", "USA");
+    private static final Studio NETFLIX = new Studio(9L, "Netflix", "USA");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldWriteSchemaAndRows() throws IOException {
+        Path file = write(Stream.of(
+                new Series("Dark", "Drama", 3, 8.7, 2017, true, NETFLIX),
+                new Series("Narcos", "Crime", 3, 8.8, 2015, true, NETFLIX)
+        ), ReportParquetWriter.DEFAULT_ROW_GROUP_SIZE);
+
+        try (ParquetFileReader reader = open(file)) {
+            MessageType schema = reader.getFileMetaData().getSchema();
+            assertEquals(List.of("id", "title", "genre", "seasons", "rating", "year", "finished", "studio_id", "studio"),
+                    schema.getFields().stream().map(Type::getName).toList());
+
+            assertColumn(schema, "id", PrimitiveTypeName.INT64, Type.Repetition.OPTIONAL);
+            assertColumn(schema, "title", PrimitiveTypeName.BINARY, Type.Repetition.OPTIONAL);
+            assertColumn(schema, "genre", PrimitiveTypeName.BINARY, Type.Repetition.OPTIONAL);
+            assertColumn(schema, "seasons", PrimitiveTypeName.INT32, Type.Repetition.REQUIRED);
+            assertColumn(schema, "rating", PrimitiveTypeName.DOUBLE, Type.Repetition.REQUIRED);
+            assertColumn(schema, "year", PrimitiveTypeName.INT32, Type.Repetition.REQUIRED);
+            assertColumn(schema, "finished", PrimitiveTypeName.BOOLEAN, Type.Repetition.REQUIRED);
+            assertColumn(schema, "studio_id", PrimitiveTypeName.INT64, Type.Repetition.OPTIONAL);
+            assertColumn(schema, "studio", PrimitiveTypeName.BINARY, Type.Repetition.OPTIONAL);
+
+            assertEquals(2, reader.getRecordCount());
+        }
+    }
+
+    @Test
+    void shouldWriteOnlyMetadataForEmptyStream() throws IOException {
+        Path file = write(Stream.empty(), ReportParquetWriter.DEFAULT_ROW_GROUP_SIZE);
+
+        try (ParquetFileReader reader = open(file)) {
+            assertEquals(0, reader.getRecordCount());
+            assertTrue(reader.getFooter().getBlocks().isEmpty());
+        }
+        assertTrue(read(file).isEmpty());
+    }
+
+    @Test
+    void shouldRoundTripEveryColumnWithNulls() throws IOException {
+        // nulls in every optional column, in different rows
+        List<Series> series = rows(13, i -> {
+            Series s = new Series(i % 4 == 3 ? null : "Title " + i,
+                    i % 5 == 2 ? null : (i % 3 == 0 ? "Drama" : "Crime"),
+                    i, 7.5 + i / 10.0, 2000 + i, i % 3 == 0,
+                    i % 6 == 5 ? null : (i < 7 ? HBO : NETFLIX));
+            return i % 7 == 4 ? s : withId(s, 100L + i);
+        });
+
+        Path file = write(series.stream(), ReportParquetWriter.DEFAULT_ROW_GROUP_SIZE);
+
+        assertRows(series, read(file));
+    }
+
+    @Test
+    void shouldSplitLargeReportsIntoCompressedRowGroups() throws IOException {
+        List<Series> series = rows(20_000, i -> withId(new Series("Series " + i,
+                i % 2 == 0 ? "Drama" : "Crime",
+                1 + i % 5, 7.0 + (i % 30) / 10.0, 1990 + i % 35, i % 2 == 0,
+                i % 50 == 0 ? null : (i % 3 == 0 ? HBO : NETFLIX)), (long) i));
+
+        Path file = write(series.stream(), 64 * 1024);
+
+        try (ParquetFileReader reader = open(file)) {
+            List<BlockMetaData> blocks = reader.getFooter().getBlocks();
+            assertTrue(blocks.size() > 1, "row groups " + blocks.size());
+            assertEquals(20_000L, blocks.stream().mapToLong(BlockMetaData::getRowCount).sum());
+            for (BlockMetaData block : blocks) {
+                Map<String, ColumnChunkMetaData> columns = columns(block);
+                assertTrue(columns.get("genre").hasDictionaryPage());
+                assertTrue(columns.get("studio").hasDictionaryPage());
+                for (ColumnChunkMetaData column : block.getColumns()) {
+                    assertEquals(CompressionCodecName.GZIP, column.getCodec());
+                }
+            }
+        }
+        assertRows(series, read(file));
+    }
+
+    @Test
+    void shouldCompressRepeatedValuesWellBelowCsvSize() throws IOException {
+        Studio studio = new Studio();
+        studio.setName("Warner Bros. Television Studios");
+
+        Path file = write(IntStream.range(0, 10_000)
+                .mapToObj(i -> new Series("Series " + i, i % 2 == 0 ? "Drama" : "Comedy", 1 + i % 5, 7.5, 2000 + i % 20, i % 3 == 0, studio)),
+                ReportParquetWriter.DEFAULT_ROW_GROUP_SIZE);
+
+        // studio and genre are dictionary-encoded, a CSV of the same rows is ~600 KB
+        assertTrue(Files.size(file) < 100_000, "size " + Files.size(file));
+        assertEquals(10_000, read(file).size());
+    }
+
+    private Path write(Stream<Series> series, int rowGroupSize) throws IOException {
+        Path file = Files.createTempFile(dir, "report", ".parquet");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            ReportParquetWriter.write(series, out, rowGroupSize);
+        }
+        return file;
+    }
+
+    private static ParquetFileReader open(Path file) throws IOException {
+        return ParquetFileReader.open(HadoopInputFile.fromPath(hadoopPath(file), new Configuration()));
+    }
+
+    private static List<Group> read(Path file) throws IOException {
+        List<Group> rows = new ArrayList<>();
+        try (ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport(), hadoopPath(file))
+                .withConf(new Configuration())
+                .build()) {
+            for (Group row = reader.read(); row != null; row = reader.read()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static org.apache.hadoop.fs.Path hadoopPath(Path file) {
+        return new org.apache.hadoop.fs.Path(file.toUri());
+    }
+
+    private static void assertRows(List<Series> expected, List<Group> rows) {
+        assertEquals(expected.size(), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Series s = expected.get(i);
+            Group row = rows.get(i);
+            String at = "row " + i;
+
+            assertEquals(s.getId(), optionalLong(row, "id"), at);
+            assertEquals(s.getTitle(), optionalString(row, "title"), at);
+            assertEquals(s.getGenre(), optionalString(row, "genre"), at);
+            assertEquals(s.getSeasons(), row.getInteger("seasons", 0), at);
+            assertEquals(s.getRating(), row.getDouble("rating", 0), at);
+            assertEquals(s.getYear(), row.getInteger("year", 0), at);
+            assertEquals(s.isFinished(), row.getBoolean("finished", 0), at);
+            assertEquals(s.getStudio() == null ? null : s.getStudio().getId(), optionalLong(row, "studio_id"), at);
+            assertEquals(s.getStudio() == null ? null : s.getStudio().getName(), optionalString(row, "studio"), at);
+        }
+    }
+
+    private static Long optionalLong(Group row, String field) {
+        return row.getFieldRepetitionCount(field) == 0 ? null : row.getLong(field, 0);
+    }
+
+    private static String optionalString(Group row, String field) {
+        return row.getFieldRepetitionCount(field) == 0 ? null : row.getString(field, 0);
+    }
+
+    private static void assertColumn(MessageType schema, String name, PrimitiveTypeName type, Type.Repetition repetition) {
+        Type column = schema.getType(name);
+        assertEquals(type, column.asPrimitiveType().getPrimitiveTypeName(), name);
+        assertEquals(repetition, column.getRepetition(), name);
+    }
+
+    private static Map<String, ColumnChunkMetaData> columns(BlockMetaData block) {
+        return block.getColumns().stream()
+                .collect(Collectors.toMap(c -> c.getPath().toDotString(), c -> c));
+    }
+
+    private static List<Series> rows(int count, IntFunction<Series> row) {
+        return IntStream.range(0, count).mapToObj(row).toList();
+    }
+
+    private static Series withId(Series series, Long id) {
+        ReflectionTestUtils.setField(series, "id", id);
+        return series;
+    }
+}
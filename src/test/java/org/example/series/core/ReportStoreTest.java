@@ -0,0 +1,137 @@
+package org.example.series.core;
+
+import org.example.series.core.export.ReportStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportStoreTest {
+
+    private static ReportStore store(Path dir, Duration ttl, long maxBytes) {
+        ReportStore store = new ReportStore(dir.toString(), ttl, DataSize.ofBytes(maxBytes), 2, DataSize.ofBytes(8), true);
+        store.init();
+        return store;
+    }
+
+    private static ReportStore.ReportResult put(ReportStore store, String jobId, String content) {
+        return store.put(jobId, jobId + ".csv", "text/csv",
+                out -> out.write(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static long files(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void shouldSpoolReportsToDiskAndCacheOnlySmallOnes() throws Exception {
+        Path dir = Files.createTempDirectory("reports");
+        ReportStore store = store(dir, Duration.ofHours(1), 1024);
+
+        put(store, "small", "a,b\n");
+        put(store, "large", "a,b\n1,2\n3,4\n");
+
+        ReportStore.ReportResult small = store.get("small");
+        ReportStore.ReportResult large = store.get("large");
+
+        assertNotNull(small.data());
+        assertNull(large.data());
+        assertEquals("a,b\n1,2\n3,4\n", Files.readString(large.path()));
+        assertEquals("large.csv", large.filename());
+        assertEquals(16L, store.totalBytes());
+        assertEquals(2L, files(dir));
+
+        assertNull(store.get("unknown"));
+    }
+
+    @Test
+    void shouldStoreGzipVariantOnlyForCompressibleTextReports() throws Exception {
+        Path dir = Files.createTempDirectory("reports");
+        ReportStore store = store(dir, Duration.ofHours(1), 1024 * 1024);
+
+        String csv = "Title,Seasons\n" + "\"Dark\",3\n".repeat(1000);
+        ReportStore.ReportResult text = put(store, "text", csv);
+
+        assertNotNull(text.gzipPath());
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(text.gzipPath()))) {
+            assertEquals(csv, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(text.size() + Files.size(text.gzipPath()), store.totalBytes());
+
+        ReportStore.ReportResult xlsx = store.put("xlsx", "r.xlsx", "application/octet-stream",
+                out -> out.write(csv.getBytes(StandardCharsets.UTF_8)));
+        assertNull(xlsx.gzipPath());
+
+        // tiny reports do not get smaller when gzipped
+        assertNull(put(store, "tiny", "a").gzipPath());
+
+        store.remove("text");
+        assertFalse(Files.exists(text.gzipPath()));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedReportsOverSizeCap() throws Exception {
+        Path dir = Files.createTempDirectory("reports");
+        ReportStore store = store(dir, Duration.ofHours(1), 20);
+
+        put(store, "a", "0123456789");
+        Thread.sleep(5);
+        put(store, "b", "0123456789");
+        Thread.sleep(5);
+        store.get("a");
+
+        // "b" is the least recently used one now
+        put(store, "c", "0123456789");
+
+        assertNotNull(store.get("a"));
+        assertNull(store.get("b"));
+        assertNotNull(store.get("c"));
+        assertEquals(20L, store.totalBytes());
+        assertEquals(2L, files(dir));
+    }
+
+    @Test
+    void shouldExpireReportsAfterTtl() throws Exception {
+        Path dir = Files.createTempDirectory("reports");
+        ReportStore store = store(dir, Duration.ZERO, 1024);
+
+        put(store, "a", "0123456789");
+        Thread.sleep(5);
+        store.evictExpired();
+
+        assertNull(store.get("a"));
+        assertEquals(0L, store.totalBytes());
+        assertEquals(0L, files(dir));
+    }
+
+    @Test
+    void shouldRemovePartialFilesAndCleanUpOnStartup() throws Exception {
+        Path dir = Files.createTempDirectory("reports");
+        ReportStore store = store(dir, Duration.ofHours(1), 1024);
+
+        assertThrows(CancellationException.class, () -> store.put("a", "a.csv", "text/csv", out -> {
+            out.write(1);
+            throw new CancellationException();
+        }));
+        assertEquals(0L, files(dir));
+
+        put(store, "b", "0123456789");
+        Files.writeString(dir.resolve("orphan.part"), "x");
+
+        // a restarted node forgets previous reports
+        store(dir, Duration.ofHours(1), 1024);
+        assertEquals(0L, files(dir));
+    }
+}
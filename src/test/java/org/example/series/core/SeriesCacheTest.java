@@ -0,0 +1,122 @@
+package org.example.series.core;
+
+import org.example.series.core.model.Series;
+import org.example.series.core.service.SeriesCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeriesCacheTest {
+
+    private final Series dark = new Series("Dark", "Sci-Fi", 3, 8.7, 2017, true, null);
+
+    @Test
+    void findByIdShouldLoadOnceUntilEvicted() {
+        SeriesCache cache = new SeriesCache(true, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(dark, cache.findById(1L, id -> {
+                loads.incrementAndGet();
+                return Optional.of(dark);
+            }).orElseThrow());
+        }
+        assertEquals(1, loads.get());
+
+        cache.evict(1L);
+        cache.findById(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(dark);
+        });
+        assertEquals(2, loads.get());
+
+        Map<String, Object> stats = cache.stats().get(0);
+        assertEquals(2L, stats.get("hits"));
+        assertEquals(2L, stats.get("misses"));
+    }
+
+    @Test
+    void fullCacheShouldEvictLeastRecentlyUsedSeries() {
+        SeriesCache cache = new SeriesCache(true, 2);
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, Optional<Series>> loader = id -> {
+            loads.incrementAndGet();
+            return Optional.of(dark);
+        };
+
+        cache.findById(1L, loader);
+        cache.findById(2L, loader);
+        cache.findById(1L, loader);
+        // full: 2 is the least recently used
+        cache.findById(3L, loader);
+        assertEquals(3, loads.get());
+
+        cache.findById(1L, loader);
+        cache.findById(3L, loader);
+        assertEquals(3, loads.get());
+
+        cache.findById(2L, loader);
+        assertEquals(4, loads.get());
+
+        Map<String, Object> stats = cache.stats().get(0);
+        assertEquals(2, stats.get("size"));
+        assertEquals(2L, stats.get("evictions"));
+    }
+
+    @Test
+    void missingSeriesShouldNotBeCached() {
+        SeriesCache cache = new SeriesCache(true, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.findById(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        assertTrue(cache.findById(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        }).isEmpty());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void seriesLoadedDuringInvalidationShouldNotBeStored() {
+        SeriesCache cache = new SeriesCache(true, 100);
+
+        // a write commits while the old row is being read
+        cache.findById(1L, id -> {
+            cache.clear();
+            return Optional.of(dark);
+        });
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.findById(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(dark);
+        });
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void disabledCacheShouldAlwaysLoad() {
+        SeriesCache cache = new SeriesCache(false, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.findById(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(dark);
+        });
+        cache.findById(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(dark);
+        });
+
+        assertEquals(2, loads.get());
+    }
+}
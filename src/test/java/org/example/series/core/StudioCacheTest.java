@@ -0,0 +1,129 @@
+package org.example.series.core;
+
+import jakarta.persistence.EntityManager;
+import org.example.series.core.model.Studio;
+import org.example.series.core.repository.StudioRepository;
+import org.example.series.core.service.StudioCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StudioCacheTest {
+
+    private StudioRepository repository;
+    private EntityManager entityManager;
+    private Studio netflix;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(StudioRepository.class);
+        entityManager = mock(EntityManager.class);
+
+        netflix = mock(Studio.class);
+        when(netflix.getId()).thenReturn(1L);
+        when(netflix.getName()).thenReturn("Netflix");
+
+        when(repository.findByNameIgnoreCase(anyString())).thenReturn(Optional.empty());
+        when(repository.findByNameIgnoreCase("Netflix")).thenReturn(Optional.of(netflix));
+        when(repository.findByNameIgnoreCase("NETFLIX")).thenReturn(Optional.of(netflix));
+        when(repository.findById(1L)).thenReturn(Optional.of(netflix));
+    }
+
+    @Test
+    void shouldQueryEveryTimeWithoutScopeAndSharedCache() {
+        StudioCache cache = new StudioCache(repository, entityManager, false);
+
+        cache.findByName("Netflix");
+        cache.findByName("Netflix");
+        cache.exists(1L);
+        cache.exists(1L);
+
+        verify(repository, times(2)).findByNameIgnoreCase("Netflix");
+        verify(repository, times(2)).findById(1L);
+        // nothing is cached, the caller's persistence context keeps the studio
+        verify(entityManager, never()).detach(any());
+    }
+
+    @Test
+    void importScopeShouldResolveEachStudioOnce() {
+        StudioCache cache = new StudioCache(repository, entityManager, false);
+
+        try (StudioCache.Scope scope = cache.openScope()) {
+            assertSame(netflix, cache.findByName("Netflix").orElseThrow());
+            assertSame(netflix, cache.findByName("NETFLIX").orElseThrow());
+            assertTrue(cache.exists(1L));
+            assertSame(netflix, cache.findById(1L).orElseThrow());
+
+            // unknown names are remembered too
+            assertTrue(cache.findByName("Unknown").isEmpty());
+            assertTrue(cache.findByName("unknown").isEmpty());
+        }
+
+        verify(repository, times(1)).findByNameIgnoreCase("Netflix");
+        verify(repository, never()).findByNameIgnoreCase("NETFLIX");
+        verify(repository, never()).findById(1L);
+        verify(repository, times(1)).findByNameIgnoreCase("Unknown");
+
+        // closed scope: back to the database
+        cache.findByName("Netflix");
+        verify(repository, times(2)).findByNameIgnoreCase("Netflix");
+    }
+
+    @Test
+    void sharedCacheShouldBeClearedOnInvalidate() {
+        StudioCache cache = new StudioCache(repository, entityManager, true);
+
+        cache.findByName("Netflix");
+        cache.findById(1L);
+        verify(repository, times(1)).findByNameIgnoreCase("Netflix");
+        verify(repository, never()).findById(1L);
+
+        cache.invalidate();
+        cache.findById(1L);
+
+        verify(repository, times(1)).findById(1L);
+    }
+
+    @Test
+    void referenceShouldPreferCachedStudioAndOtherwiseNotQuery() {
+        StudioCache cache = new StudioCache(repository, entityManager, false);
+        Studio reference = mock(Studio.class);
+        when(repository.getReferenceById(1L)).thenReturn(reference);
+
+        assertSame(reference, cache.reference(1L));
+
+        try (StudioCache.Scope scope = cache.openScope()) {
+            cache.findById(1L);
+            assertSame(netflix, cache.reference(1L));
+        }
+
+        verify(repository, times(1)).getReferenceById(1L);
+        verify(repository, times(1)).findById(1L);
+    }
+
+    @Test
+    void sharedCacheShouldServeStudioListAndLookupsFromOneQuery() {
+        StudioCache cache = new StudioCache(repository, entityManager, true);
+        when(repository.findAll()).thenReturn(List.of(netflix));
+
+        assertEquals(List.of(netflix), cache.findAll());
+        assertEquals(List.of(netflix), cache.findAll());
+        assertSame(netflix, cache.findById(1L).orElseThrow());
+        assertSame(netflix, cache.findByName("netflix").orElseThrow());
+
+        verify(repository, times(1)).findAll();
+        verify(repository, never()).findById(1L);
+        verify(repository, never()).findByNameIgnoreCase(anyString());
+        // shared between requests: not left managed in the loading request's persistence context
+        verify(entityManager, times(1)).detach(netflix);
+
+        cache.invalidate();
+        cache.findAll();
+        verify(repository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.series.core;
+
+import org.example.series.core.export.XmlStatisticsWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XmlStatisticsWriterTest {
+
+    @Test
+    void shouldStreamIndentedXml() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("Drama", 3L);
+        stats.put("Sci-Fi & <Fantasy>", 1L);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XmlStatisticsWriter.write(stats, "genre", out, true);
+
+        assertEquals("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <statistics by="genre">
+                  <item>
+                    <value>Drama</value>
+                    <count>3</count>
+                  </item>
+                  <item>
+                    <value>Sci-Fi &amp; &lt;Fantasy&gt;</value>
+                    <count>1</count>
+                  </item>
+                </statistics>
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldWriteCompactXmlWithoutIndentation() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        XmlStatisticsWriter.write(Map.of("2016", 2L), "year", out, false);
+
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                        + "<statistics by=\"year\"><item><value>2016</value><count>2</count></item></statistics>",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldWriteFile() throws Exception {
+        Path file = Files.createTempFile("statistics", ".xml");
+        try {
+            XmlStatisticsWriter.write(Map.of("Netflix", 5L), "studio", file);
+
+            String xml = Files.readString(file);
+            assertTrue(xml.contains("<statistics by=\"studio\">"));
+            assertTrue(xml.contains("    <value>Netflix</value>"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
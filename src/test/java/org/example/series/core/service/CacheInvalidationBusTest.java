@@ -0,0 +1,180 @@
+package org.example.series.core.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.series.core.model.Series;
+import org.example.series.core.model.Studio;
+import org.example.series.core.repository.StudioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheInvalidationBusTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private StudioRepository studioRepository;
+    private DatasetVersion datasetVersion;
+    private StudioCache studioCache;
+    private SeriesCache seriesCache;
+    private CacheInvalidationBus bus;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        studioRepository = mock(StudioRepository.class);
+        when(studioRepository.findById(7L)).thenReturn(Optional.of(new Studio(7L, "Netflix", "US")));
+
+        datasetVersion = new DatasetVersion();
+        studioCache = new StudioCache(studioRepository, mock(EntityManager.class), true);
+        seriesCache = new SeriesCache(true, 100);
+        bus = new CacheInvalidationBus(jdbcTemplate, mock(DataSource.class), datasetVersion,
+                studioCache, seriesCache, true, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void encodeShouldListChangedIdsAndFallBackToAllSeries() {
+        assertEquals("node;;1,2;", CacheInvalidationBus.encode("node", false, false, List.of(1L, 2L)));
+        assertEquals("node;S;;", CacheInvalidationBus.encode("node", true, false, List.of()));
+        assertEquals("node;;*;", CacheInvalidationBus.encode("node", false, true, List.of(1L)));
+
+        // pg_notify payloads are limited to 8000 bytes
+        List<Long> many = LongStream.rangeClosed(1_000_000, 1_001_000).boxed().toList();
+        assertEquals("node;;*;", CacheInvalidationBus.encode("node", false, false, many));
+    }
+
+    @Test
+    void receiveShouldEvictSeriesChangedOnAnotherNode() {
+        cacheSeries(1L);
+        cacheSeries(2L);
+        long version = datasetVersion.current();
+
+        bus.receive("other;;1;5");
+
+        cacheSeries(1L);
+        cacheSeries(2L);
+        assertEquals(3, loads.get());
+        assertEquals(version + 1, datasetVersion.current());
+        assertEquals(5L, bus.stats().get("lastVersion"));
+    }
+
+    @Test
+    void receiveShouldClearCachesOnStudioAndSetBasedEvents() {
+        studioCache.findById(7L);
+        cacheSeries(1L);
+
+        bus.receive("other;;*;1");
+        cacheSeries(1L);
+        studioCache.findById(7L);
+        assertEquals(2, loads.get());
+        verify(studioRepository, times(1)).findById(7L);
+
+        bus.receive("other;S;;2");
+        cacheSeries(1L);
+        studioCache.findById(7L);
+        assertEquals(3, loads.get());
+        verify(studioRepository, times(2)).findById(7L);
+    }
+
+    @Test
+    void receiveShouldSkipOwnEvents() {
+        bus.seriesChanged(List.of(1L));
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate).queryForList(anyString(), payload.capture());
+        assertTrue(payload.getValue().toString().endsWith(";;1;"));
+
+        cacheSeries(1L);
+        long version = datasetVersion.current();
+
+        bus.receive(payload.getValue() + "9");
+
+        cacheSeries(1L);
+        assertEquals(1, loads.get());
+        assertEquals(version, datasetVersion.current());
+        // the event number still counts as received for poll()
+        assertEquals(9L, bus.stats().get("lastVersion"));
+    }
+
+    @Test
+    void receiveShouldIgnoreMalformedPayloads() {
+        cacheSeries(1L);
+        long version = datasetVersion.current();
+
+        for (String payload : List.of("", "garbage", "other;;1;", "other;;1;x", "other;;1;2;3", "other;;1")) {
+            bus.receive(payload);
+        }
+
+        cacheSeries(1L);
+        assertEquals(1, loads.get());
+        assertEquals(version, datasetVersion.current());
+        assertEquals(0L, bus.stats().get("received"));
+    }
+
+    @Test
+    void pollShouldClearCachesWhenAnEventIsMissing() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(10L, 12L, 12L, 12L);
+
+        // first poll only records the sequence
+        bus.poll();
+        bus.receive("other;;;12");
+        cacheSeries(1L);
+
+        // event 11 may still be committing
+        bus.poll();
+        assertEquals(0L, bus.stats().get("fullInvalidations"));
+
+        // a poll interval later it is lost
+        bus.poll();
+        assertEquals(1L, bus.stats().get("fullInvalidations"));
+        cacheSeries(1L);
+        assertEquals(2, loads.get());
+
+        bus.poll();
+        assertEquals(1L, bus.stats().get("fullInvalidations"));
+    }
+
+    @Test
+    void pollShouldWaitForEventsStillCommitting() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(10L, 12L, 13L);
+
+        bus.poll();
+        bus.poll();
+        // numbers are taken before the commit, so events may arrive out of order
+        bus.receive("other;;;12");
+        bus.receive("other;;;11");
+        bus.poll();
+
+        assertEquals(0L, bus.stats().get("fullInvalidations"));
+    }
+
+    @Test
+    void pollShouldKeepCachesWhenAllEventsWereReceived() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(10L, 12L);
+
+        bus.poll();
+        bus.receive("other;;;11");
+        bus.receive("other;;;12");
+        bus.poll();
+
+        assertEquals(0L, bus.stats().get("fullInvalidations"));
+    }
+
+    private void cacheSeries(Long id) {
+        seriesCache.findById(id, key -> {
+            loads.incrementAndGet();
+            return Optional.of(new Series("Series " + key, "Drama", 1, 8.0, 2020, false, null));
+        });
+    }
+}
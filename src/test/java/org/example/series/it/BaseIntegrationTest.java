@@ -30,5 +30,8 @@ public abstract class BaseIntegrationTest {
         registry.add("spring.liquibase.enabled", () -> true);
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
         registry.add("spring.jpa.show-sql", () -> false);
+
+        // import job spool outside the working tree
+        registry.add("app.import.jobs.dir", () -> System.getProperty("java.io.tmpdir") + "/series-imports-it");
     }
 }
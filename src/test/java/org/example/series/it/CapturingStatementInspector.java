@@ -0,0 +1,29 @@
+package org.example.series.it;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hibernate statement inspector that records every SQL statement it sees,
+ * so tests can inspect the queries generated from JPA specifications.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+}
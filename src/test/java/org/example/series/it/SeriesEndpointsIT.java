@@ -5,16 +5,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.ByteArrayInputStream;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -26,6 +34,9 @@ class SeriesEndpointsIT extends BaseIntegrationTest {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     private List<String> studioIds() throws Exception {
         String json = mvc.perform(get("/api/v1/studios"))
                 .andExpect(status().isOk())
@@ -98,6 +109,154 @@ class SeriesEndpointsIT extends BaseIntegrationTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    void bulkAndMgetEndpoints_shouldWriteAllOrNothing() throws Exception {
+        String studioId = studioIds().get(0);
+
+        String created = mvc.perform(post("/api/v1/series/_bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":["
+                                + "{\"op\":\"create\",\"data\":" + seriesJson("Bulk One", studioId) + "},"
+                                + "{\"op\":\"create\",\"data\":" + seriesJson("Bulk Two", studioId) + "}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.committed").value(true))
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[1].series.title").value("Bulk Two"))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode results = objectMapper.readTree(created).get("results");
+        String first = results.get(0).get("id").asText();
+        String second = results.get(1).get("id").asText();
+
+        // the update of an unknown id fails, so the delete before it is rolled back
+        mvc.perform(post("/api/v1/series/_bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":["
+                                + "{\"op\":\"delete\",\"id\":" + first + "},"
+                                + "{\"op\":\"update\",\"id\":999999,\"data\":" + seriesJson("Bulk Three", studioId) + "}]}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.committed").value(false))
+                .andExpect(jsonPath("$.results[0].status").value(424))
+                .andExpect(jsonPath("$.results[1].status").value(404));
+
+        mvc.perform(post("/api/v1/series/_mget")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + second + "," + first + ",999999]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.series.length()").value(2))
+                .andExpect(jsonPath("$.series[0].title").value("Bulk Two"))
+                .andExpect(jsonPath("$.series[0].studio.id").value(Long.parseLong(studioId)))
+                .andExpect(jsonPath("$.missing[0]").value(999999));
+
+        // cleanup
+        mvc.perform(post("/api/v1/series/_bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[{\"op\":\"delete\",\"id\":" + first + "},"
+                                + "{\"op\":\"delete\",\"id\":" + second + "}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[1].status").value(204));
+    }
+
+    @Test
+    void patchAndDeleteEndpoints_shouldWriteOnlyChangedColumns() throws Exception {
+        String studioId = studioIds().get(0);
+
+        String created = mvc.perform(post("/api/v1/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(seriesJson("Patch Me", studioId)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(created).get("id").asText();
+
+        mvc.perform(patch("/api/v1/series/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\":9.5,\"seasons\":3}"))
+                .andExpect(status().isNoContent());
+
+        mvc.perform(get("/api/v1/series/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Patch Me"))
+                .andExpect(jsonPath("$.rating").value(9.5))
+                .andExpect(jsonPath("$.seasons").value(3))
+                .andExpect(jsonPath("$.finished").value(false));
+
+        // the stored series is ongoing, so it cannot move before 1950
+        mvc.perform(patch("/api/v1/series/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"year\":1940}"))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(patch("/api/v1/series/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"studioId\":999999}"))
+                .andExpect(status().isNotFound());
+
+        mvc.perform(patch("/api/v1/series/999999")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\":1.0}"))
+                .andExpect(status().isNotFound());
+
+        mvc.perform(delete("/api/v1/series/" + id))
+                .andExpect(status().isNoContent());
+        mvc.perform(delete("/api/v1/series/" + id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void conditionalRequests_shouldUseVersionAsEtag() throws Exception {
+        String studioId = studioIds().get(0);
+
+        String created = mvc.perform(post("/api/v1/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(seriesJson("Etag Series", studioId)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(created).get("id").asText();
+
+        String etag = mvc.perform(get("/api/v1/series/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/api/v1/series/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        String updated = mvc.perform(put("/api/v1/series/" + id)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(seriesJson("Etag Series 2", studioId)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, updated);
+
+        // a writer holding the old version loses
+        mvc.perform(put("/api/v1/series/" + id)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(seriesJson("Etag Series 3", studioId)))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(delete("/api/v1/series/" + id).header(HttpHeaders.IF_MATCH, etag))
+                .andExpect(status().isPreconditionFailed());
+
+        // a partial update changes the version too
+        mvc.perform(patch("/api/v1/series/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\":7.0}"))
+                .andExpect(status().isNoContent());
+        mvc.perform(get("/api/v1/series/" + id).header(HttpHeaders.IF_NONE_MATCH, updated))
+                .andExpect(status().isOk());
+
+        String current = mvc.perform(get("/api/v1/series/" + id))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(delete("/api/v1/series/" + id).header(HttpHeaders.IF_MATCH, current))
+                .andExpect(status().isNoContent());
+    }
+
+    private static String seriesJson(String title, String studioId) {
+        return "{\"title\":\"" + title + "\",\"genre\":\"Drama\",\"seasons\":1,\"rating\":8.1,"
+                + "\"year\":2020,\"finished\":false,\"studioId\":" + studioId + "}";
+    }
+
     @Test
     void listEndpoint_shouldReturnPagedStructure() throws Exception {
         String body = "{\"page\":1,\"size\":5,\"sortBy\":\"id\",\"direction\":\"ASC\"}";
@@ -143,19 +302,73 @@ class SeriesEndpointsIT extends BaseIntegrationTest {
     @Test
     void reportEndpoint_shouldReturnCsvFile() throws Exception {
         String body = "{\"format\":\"csv\"}";
-        mvc.perform(post("/api/v1/series/_report")
+        MvcResult started = mvc.perform(post("/api/v1/series/_report")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
                 .andExpect(status().isOk())
                 .andExpect(header().string("Content-Type", "text/csv"))
-                .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.containsString("attachment;")));
+                .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.containsString("attachment;")))
+                .andExpect(content().string(org.hamcrest.Matchers.startsWith("Title,Seasons,Rating,Year,Finished,Studio")));
+    }
+
+    @Test
+    void reportEndpoint_withAsyncFlag_shouldQueueJob() throws Exception {
+        String resp = mvc.perform(post("/api/v1/series/_report")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"format\":\"csv\",\"async\":true}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").exists())
+                .andExpect(jsonPath("$.statusUrl").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        String jobId = objectMapper.readTree(resp).get("jobId").asText();
+        awaitReportStatus(jobId, "DONE");
+
+        mvc.perform(get("/api/v1/series/_report/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.startsWith("Title,Seasons,Rating,Year,Finished,Studio")));
+    }
+
+    @Test
+    void reportEndpoint_shouldBundleFormatsAndPartitionsAsZip() throws Exception {
+        createSeries("Bundle A", "Drama", 1, 8.0, 2019, false, studioIds().get(0));
+
+        MvcResult started = mvc.perform(post("/api/v1/series/_report")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"formats\":[\"csv\",\"json\"],\"partitionBy\":\"year\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] zip = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/zip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, org.hamcrest.Matchers.containsString(".zip")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                names.add(entry.getName());
+            }
+        }
+        assertTrue(names.contains("2019/series-report.csv"));
+        assertTrue(names.contains("2019/series-report.json"));
+
+        mvc.perform(post("/api/v1/series/_report")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"partitionBy\":\"genre\"}"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
     void reportEndpoint_async_shouldReturnJobIdAndAllowDownload() throws Exception {
-        String body = "{\"format\":\"csv\",\"async\":true}";
+        String body = "{\"format\":\"csv\"}";
 
-        String resp = mvc.perform(post("/api/v1/series/_report")
+        String resp = mvc.perform(post("/api/v1/series/_report/jobs")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(body))
                 .andExpect(status().isAccepted())
@@ -166,10 +379,105 @@ class SeriesEndpointsIT extends BaseIntegrationTest {
         JsonNode json = objectMapper.readTree(resp);
         String jobId = json.get("jobId").asText();
 
+        awaitReportStatus(jobId, "DONE");
+
         mvc.perform(get("/api/v1/series/_report/{jobId}", jobId))
                 .andExpect(status().isOk())
                 .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
-                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, org.hamcrest.Matchers.containsString("attachment;")));
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, org.hamcrest.Matchers.containsString("attachment;")))
+                .andExpect(content().string(org.hamcrest.Matchers.startsWith("Title,Seasons,Rating,Year,Finished,Studio")));
+    }
+
+    @Test
+    void reportEndpoint_asyncStatus_shouldReportProgressAndRejectUnknownJobs() throws Exception {
+        String resp = mvc.perform(post("/api/v1/series/_report/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"format\":\"json\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.statusUrl").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        String jobId = objectMapper.readTree(resp).get("jobId").asText();
+
+        JsonNode status = awaitReportStatus(jobId, "DONE");
+        assertTrue(status.get("rowsWritten").asLong() >= 0);
+
+        // finished jobs cannot be cancelled
+        mvc.perform(delete("/api/v1/series/_report/{jobId}", jobId))
+                .andExpect(status().isConflict());
+
+        mvc.perform(get("/api/v1/series/_report/{jobId}/status", "unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void reportDownload_shouldSupportRangeAndConditionalRequests() throws Exception {
+        String resp = mvc.perform(post("/api/v1/series/_report/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"format\":\"csv\"}"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+
+        String jobId = objectMapper.readTree(resp).get("jobId").asText();
+        awaitReportStatus(jobId, "DONE");
+
+        String etag = mvc.perform(get("/api/v1/series/_report/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // resume after the first 6 bytes ("Title,")
+        mvc.perform(get("/api/v1/series/_report/{jobId}", jobId)
+                        .header(HttpHeaders.RANGE, "bytes=6-12"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, org.hamcrest.Matchers.startsWith("bytes 6-12/")))
+                .andExpect(content().string("Seasons"));
+
+        mvc.perform(get("/api/v1/series/_report/{jobId}", jobId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void reportEndpoint_async_shouldReuseReportUntilDataChanges() throws Exception {
+        String body = "{\"format\":\"ndjson\",\"genre\":\" Drama \"}";
+
+        String first = submitAsyncReport(body);
+        awaitReportStatus(first, "DONE");
+
+        // same filters (genre is normalized), different paging -> same report
+        assertEquals(first, submitAsyncReport(
+                "{\"format\":\"ndjson\",\"genre\":\"drama\",\"page\":3}"));
+
+        createSeries("Cache Buster", "Drama", 1, 8.0, 2022, false, studioIds().get(0));
+
+        assertNotEquals(first, submitAsyncReport(body));
+    }
+
+    private String submitAsyncReport(String body) throws Exception {
+        String resp = mvc.perform(post("/api/v1/series/_report/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readTree(resp).get("jobId").asText();
+    }
+
+    private JsonNode awaitReportStatus(String jobId, String expected) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String body = mvc.perform(get("/api/v1/series/_report/{jobId}/status", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            JsonNode status = objectMapper.readTree(body);
+            if (expected.equals(status.get("status").asText())) {
+                return status;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Report job " + jobId + " did not reach status " + expected);
     }
 
     @Test
@@ -214,6 +522,234 @@ class SeriesEndpointsIT extends BaseIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void uploadEndpoint_copyMode_shouldInsertThenUpdateExistingSeries() throws Exception {
+        String studioName = objectMapper.readTree(mvc.perform(get("/api/v1/studios"))
+                        .andReturn().getResponse().getContentAsString())
+                .get(0).get("name").asText();
+
+        String first = "[" + importItem("Copy Loaded", 8.0, studioName) + ","
+                + importItem("Copy Unknown Studio", 7.0, "No Such Studio") + "]";
+
+        mvc.perform(multipart("/api/v1/series/upload").file(jsonFile(first)).param("mode", "copy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.updated").value(0))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(2))
+                .andExpect(jsonPath("$.errors[0].details").value("Studio not found: No Such Studio"));
+
+        // same title, year and studio: the existing row is updated instead of duplicated
+        String second = "[" + importItem("Copy Loaded", 9.5, studioName) + "]";
+
+        mvc.perform(multipart("/api/v1/series/upload").file(jsonFile(second)).param("mode", "copy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(0))
+                .andExpect(jsonPath("$.updated").value(1));
+
+        String found = mvc.perform(get("/api/v1/series/search").param("query", "Copy Loaded"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rating").value(9.5))
+                .andReturn().getResponse().getContentAsString();
+
+        // cleanup
+        mvc.perform(delete("/api/v1/series/{id}", objectMapper.readTree(found).get("id").asText()))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void uploadEndpoint_copyAndUpsertModes_shouldNotBurnIdBlocksPerRow() throws Exception {
+        String studioName = objectMapper.readTree(mvc.perform(get("/api/v1/studios"))
+                        .andReturn().getResponse().getContentAsString())
+                .get(0).get("name").asText();
+
+        String json = "[" + importItem("Dense Id 1", 7.0, studioName) + ","
+                + importItem("Dense Id 2", 7.5, studioName) + ","
+                + importItem("Dense Id 3", 8.0, studioName) + "]";
+
+        Long before = jdbcTemplate.queryForObject("SELECT last_value FROM series_seq", Long.class);
+
+        mvc.perform(multipart("/api/v1/series/upload").file(jsonFile(json)).param("mode", "copy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(3));
+        mvc.perform(multipart("/api/v1/series/upload").file(jsonFile(json)).param("mode", "copy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(3));
+        mvc.perform(multipart("/api/v1/series/upload").file(jsonFile(json)).param("mode", "upsert"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(3));
+
+        // 9 rows went through the id default: at most one new 50-id block per upload
+        // (each may run on another pooled connection) instead of one block per row
+        Long after = jdbcTemplate.queryForObject("SELECT last_value FROM series_seq", Long.class);
+        assertTrue(after - before <= 3 * 50, "series_seq moved by " + (after - before));
+
+        // cleanup
+        for (Long id : jdbcTemplate.queryForList("SELECT id FROM series WHERE title LIKE 'Dense Id %'", Long.class)) {
+            mvc.perform(delete("/api/v1/series/{id}", id))
+                    .andExpect(status().isNoContent());
+        }
+    }
+
+    @Test
+    void uploadEndpoint_upsertMode_shouldNotDuplicateOnReupload() throws Exception {
+        String studioName = objectMapper.readTree(mvc.perform(get("/api/v1/studios"))
+                        .andReturn().getResponse().getContentAsString())
+                .get(0).get("name").asText();
+
+        // the same series twice in one file: the later item wins
+        String json = "[" + importItem("Upserted", 7.0, studioName) + ","
+                + importItem("Upserted", 8.5, studioName) + "]";
+
+        mvc.perform(multipart("/api/v1/series/upload").file(jsonFile(json)).param("mode", "upsert"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(2))
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.updated").value(0));
+
+        mvc.perform(multipart("/api/v1/series/upload").file(jsonFile(json)).param("mode", "upsert"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(0))
+                .andExpect(jsonPath("$.updated").value(1));
+
+        String found = mvc.perform(get("/api/v1/series/search").param("query", "Upserted"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rating").value(8.5))
+                .andReturn().getResponse().getContentAsString();
+
+        // plain batch mode reports the duplicate instead of adding a copy
+        mvc.perform(multipart("/api/v1/series/upload").file(jsonFile("[" + importItem("Upserted", 9.0, studioName) + "]")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(0))
+                .andExpect(jsonPath("$.failed").value(1));
+
+        // cleanup
+        mvc.perform(delete("/api/v1/series/{id}", objectMapper.readTree(found).get("id").asText()))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void uploadEndpoint_shouldReimportCsvReport() throws Exception {
+        String created = mvc.perform(post("/api/v1/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Round, \\\"Trip\\\"\",\"genre\":\"RoundTripGenre\",\"seasons\":2,"
+                                + "\"rating\":7.9,\"year\":2021,\"finished\":true,\"studioId\":" + studioIds().get(0) + "}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        String jobId = objectMapper.readTree(mvc.perform(post("/api/v1/series/_report/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"format\":\"csv\",\"genre\":\"RoundTripGenre\"}"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString()).get("jobId").asText();
+        awaitReportStatus(jobId, "DONE");
+
+        byte[] csv = mvc.perform(get("/api/v1/series/_report/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // format detected from the file name; the reported series already exists, so it is updated in place
+        mvc.perform(multipart("/api/v1/series/upload")
+                        .file(new MockMultipartFile("file", "report.csv", "text/csv", csv))
+                        .param("mode", "upsert"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(1))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.inserted").value(0))
+                .andExpect(jsonPath("$.updated").value(1));
+
+        mvc.perform(multipart("/api/v1/series/upload")
+                        .file(new MockMultipartFile("file", "report.txt", "text/plain", "Title\nDark\n".getBytes()))
+                        .param("format", "csv"))
+                .andExpect(status().isBadRequest());
+
+        // cleanup
+        mvc.perform(delete("/api/v1/series/{id}", objectMapper.readTree(created).get("id").asText()))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void importJob_shouldImportAsynchronouslyAndLogErrors() throws Exception {
+        String studioName = objectMapper.readTree(mvc.perform(get("/api/v1/studios"))
+                        .andReturn().getResponse().getContentAsString())
+                .get(0).get("name").asText();
+
+        String json = "[" + importItem("Job Imported", 8.0, studioName) + ","
+                + importItem("Job Unknown Studio", 7.0, "No Such Studio") + "]";
+
+        String resp = mvc.perform(multipart("/api/v1/series/_import/jobs").file(jsonFile(json)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").exists())
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(resp).get("jobId").asText();
+
+        JsonNode status = null;
+        for (int attempt = 0; attempt < 100 && (status == null || !"DONE".equals(status.get("status").asText())); attempt++) {
+            Thread.sleep(100);
+            status = objectMapper.readTree(mvc.perform(get("/api/v1/series/_import/jobs/{jobId}", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+        }
+
+        assertEquals("DONE", status.get("status").asText());
+        assertEquals(2, status.get("processed").asLong());
+        assertEquals(1, status.get("succeeded").asLong());
+        assertEquals(1, status.get("failed").asLong());
+
+        mvc.perform(get("/api/v1/series/_import/jobs/{jobId}/errors", jobId))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("\"index\":2")));
+
+        mvc.perform(get("/api/v1/series/_import/jobs/{jobId}", "unknown"))
+                .andExpect(status().isNotFound());
+
+        // cleanup
+        String found = mvc.perform(get("/api/v1/series/search").param("query", "Job Imported"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        mvc.perform(delete("/api/v1/series/{id}", objectMapper.readTree(found).get("id").asText()))
+                .andExpect(status().isNoContent());
+    }
+
+    private String importItem(String title, double rating, String studioName) throws Exception {
+        return "{\"title\":\"" + title + "\",\"genre\":\"Drama\",\"seasons\":1,\"rating\":" + rating
+                + ",\"year\":2021,\"finished\":false,\"studio\":{\"name\":"
+                + objectMapper.writeValueAsString(studioName) + "}}";
+    }
+
+    private static MockMultipartFile jsonFile(String json) {
+        return new MockMultipartFile("file", "series.json", "application/json", json.getBytes());
+    }
+
+    @Test
+    void statisticsEndpoint_shouldBeRecomputedAfterWrite() throws Exception {
+        String studioId = studioIds().get(0);
+
+        mvc.perform(get("/api/v1/statistics/genre"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.Cachegenre").doesNotExist());
+
+        // served from the cache until the next write
+        mvc.perform(get("/api/v1/statistics/genre"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.Cachegenre").doesNotExist());
+
+        String id = createSeries("Cached Stats", "Cachegenre", 1, 7.0, 2020, false, studioId);
+
+        mvc.perform(get("/api/v1/statistics/genre"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.Cachegenre").value(1));
+
+        mvc.perform(get("/api/v1/statistics/unknown"))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(get("/api/v1/_cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'reads')].hits").exists());
+
+        mvc.perform(delete("/api/v1/series/{id}", id)).andExpect(status().isNoContent());
+    }
+
     @Test
     void topAndSearchEndpoints_shouldWork() throws Exception {
         String studioId = studioIds().get(0);
@@ -0,0 +1,178 @@
+package org.example.series.it;
+
+import org.example.series.core.service.SeriesService;
+import org.example.series.core.service.StudioService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query-plan regression test: seeds a large catalog, runs the SQL that
+ * SeriesService.search / StudioService.findByName actually generate through
+ * EXPLAIN and fails if PostgreSQL falls back to a sequential scan.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "org.example.series.it.CapturingStatementInspector",
+        // every call must reach the database to be explained
+        "app.studio.cache.enabled=false",
+        "app.series.cache.enabled=false",
+        "app.read-cache.enabled=false"})
+class SeriesQueryPlanIT extends BaseIntegrationTest {
+
+    private static final String PREFIX = "plan-it-";
+    private static final int STUDIOS = 5_000;
+    private static final int SERIES = 200_000;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    SeriesService seriesService;
+
+    @Autowired
+    StudioService studioService;
+
+    private long studioId;
+
+    @BeforeAll
+    void seed() {
+        jdbc.update("""
+                INSERT INTO studios (name, country)
+                SELECT ? || g, 'USA' FROM generate_series(1, ?) g
+                """, PREFIX, STUDIOS);
+
+        jdbc.update("""
+                INSERT INTO series (title, genre, seasons, rating, year, finished, studio_id)
+                SELECT ? || g,
+                       (ARRAY['Drama', 'Comedy', 'Fantasy', 'Crime', 'Mystery'])[1 + g % 5],
+                       1 + g % 10,
+                       round((g % 101) / 10.0, 1),
+                       1950 + g % 75,
+                       g % 2 = 0,
+                       st.id
+                FROM generate_series(1, ?) g
+                JOIN studios st ON st.name = ? || (1 + g % ?)
+                """, PREFIX, SERIES, PREFIX, STUDIOS);
+
+        jdbc.execute("ANALYZE studios");
+        jdbc.execute("ANALYZE series");
+
+        studioId = jdbc.queryForObject(
+                "SELECT id FROM studios WHERE name = ?", Long.class, PREFIX + 1);
+    }
+
+    @AfterAll
+    void cleanup() {
+        // series rows are removed by ON DELETE CASCADE
+        jdbc.update("DELETE FROM studios WHERE name LIKE ?", PREFIX + "%");
+    }
+
+    @BeforeEach
+    void resetCapture() {
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    void searchByStudio_shouldUseIndex() {
+        seriesService.search(studioId, null, null, null, page(Sort.by("id")));
+        assertNoSeqScan(List.of(studioId));
+    }
+
+    @Test
+    void searchByStudioAndRating_shouldUseIndex() {
+        seriesService.search(studioId, 8.0, null, null, page(Sort.by(Sort.Direction.DESC, "rating")));
+        assertNoSeqScan(List.of(studioId, 8.0));
+    }
+
+    @Test
+    void searchByYearAndRating_shouldUseIndex() {
+        seriesService.search(null, 9.0, 2001, null, page(Sort.by(Sort.Direction.DESC, "rating")));
+        assertNoSeqScan(List.of(9.0, 2001));
+    }
+
+    @Test
+    void searchByYear_shouldUseIndex() {
+        seriesService.search(null, null, 2001, null, page(Sort.by("id")));
+        assertNoSeqScan(List.of(2001));
+    }
+
+    @Test
+    void searchByMinRating_sortedByRating_shouldUseIndex() {
+        seriesService.search(null, 9.5, null, null, page(Sort.by(Sort.Direction.DESC, "rating")));
+        assertNoSeqScan(List.of(9.5));
+    }
+
+    @Test
+    void topNByRating_shouldUseIndex() {
+        seriesService.topNByRating(PAGE_SIZE);
+        assertNoSeqScan(List.of());
+    }
+
+    @Test
+    void findStudioByNameIgnoreCase_shouldUseIndex() {
+        studioService.findByName(PREFIX.toUpperCase() + 42);
+        assertNoSeqScan(List.of(PREFIX.toUpperCase() + 42));
+    }
+
+    private PageRequest page(Sort sort) {
+        return PageRequest.of(0, PAGE_SIZE, sort);
+    }
+
+    /**
+     * Explains every captured data query (count queries excluded).
+     * Placeholders are bound in order from {@code params}; any remaining ones
+     * (limit/offset) are bound to the page size.
+     */
+    private void assertNoSeqScan(List<Object> params) {
+        List<String> queries = CapturingStatementInspector.statements().stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                .filter(sql -> !sql.toLowerCase().contains("count("))
+                .toList();
+
+        assertFalse(queries.isEmpty(), "No queries captured");
+
+        for (String sql : queries) {
+            String plan = String.join("\n",
+                    jdbc.queryForList("EXPLAIN " + bind(sql, params), String.class));
+
+            assertFalse(plan.contains("Seq Scan"),
+                    "Sequential scan for query:\n" + sql + "\nPlan:\n" + plan);
+        }
+    }
+
+    private static String bind(String sql, List<Object> params) {
+        Deque<Object> values = new ArrayDeque<>(params);
+        StringBuilder sb = new StringBuilder(sql.length() + 32);
+
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c != '?') {
+                sb.append(c);
+                continue;
+            }
+            Object value = values.isEmpty() ? PAGE_SIZE : values.poll();
+            if (value instanceof String s) {
+                sb.append('\'').append(s.replace("'", "''")).append('\'');
+            } else {
+                sb.append(value);
+            }
+        }
+        return sb.toString();
+    }
+}
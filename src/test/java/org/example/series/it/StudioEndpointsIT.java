@@ -3,16 +3,24 @@ package org.example.series.it;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+// the cache invalidation test publishes like another node
+@TestPropertySource(properties = "app.cache.invalidation.enabled=true")
 class StudioEndpointsIT extends BaseIntegrationTest {
 
     @Autowired
     MockMvc mvc;
 
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     @Test
     void getAllStudios_shouldReturnSeededData() throws Exception {
         mvc.perform(get("/api/v1/studios"))
@@ -83,4 +91,42 @@ class StudioEndpointsIT extends BaseIntegrationTest {
         mvc.perform(delete("/api/v1/studios/{id}", id)).andExpect(status().isNoContent());
         mvc.perform(delete("/api/v1/studios/{id}", id2)).andExpect(status().isNoContent());
     }
+
+    @Test
+    void studioChangedOnAnotherNode_shouldEvictCachedStudios() throws Exception {
+        String created = mvc.perform(post("/api/v1/studios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Cached Studio\",\"country\":\"UA\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = created.replaceAll(".*\\\"id\\\":(\\d+).*", "$1");
+
+        // warm the studio cache
+        mvc.perform(get("/api/v1/studios")).andExpect(status().isOk());
+
+        // another node renames the studio and publishes the change
+        jdbcTemplate.update("UPDATE studios SET name = 'Renamed Elsewhere' WHERE id = ?", Long.valueOf(id));
+        String cached = mvc.perform(get("/api/v1/studios")).andReturn().getResponse().getContentAsString();
+        assertFalse(cached.contains("Renamed Elsewhere"));
+
+        jdbcTemplate.queryForList("SELECT pg_notify('series_cache', 'other-node;S;;' || nextval('cache_version_seq'))");
+
+        awaitStudios("Renamed Elsewhere");
+
+        // cleanup
+        mvc.perform(delete("/api/v1/studios/{id}", id)).andExpect(status().isNoContent());
+    }
+
+    private void awaitStudios(String expected) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String body = mvc.perform(get("/api/v1/studios"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            if (body.contains(expected)) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Studios do not contain " + expected);
+    }
 }